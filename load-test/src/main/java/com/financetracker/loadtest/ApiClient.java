@@ -0,0 +1,136 @@
+package com.financetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thin JSON client over java.net.http that times every call and files it under an endpoint name such as
+// "GET /api/expenses/{id}". Latency runs from the intended start, so in the open model time spent waiting
+// for the generator to get to a request counts against the server rather than being silently dropped.
+final class ApiClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+    private volatile Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    ApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    // Calls made before this (sign-up, seeding, ramp-up) are not part of the results. A fresh map is swapped in
+    // rather than clearing the old one, which users still in flight may be writing to
+    void startRecording() {
+        stats = new ConcurrentHashMap<>();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    Map<String, EndpointStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+
+    Response send(String endpoint, String method, String path, Object body, String token) {
+        return send(endpoint, method, path, body, token, System.nanoTime());
+    }
+
+    Response send(String endpoint, String method, String path, Object body, String token, long intendedStart) {
+        // Calls that started before recording began are left out rather than filed under the new map
+        Map<String, EndpointStats> target = recording ? stats : null;
+        int status;
+        JsonNode json = null;
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            if (status < 300 && response.body().length > 0) {
+                json = MAPPER.readTree(response.body());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        } catch (Exception e) {
+            // Timeouts and refused connections are failures of the system under test, not of the generator
+            status = -1;
+        }
+        if (target != null && recording) {
+            target.computeIfAbsent(endpoint, EndpointStats::new).record(System.nanoTime() - intendedStart, status);
+        }
+        return new Response(status, json);
+    }
+
+    record Response(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    static final class EndpointStats {
+        private final String endpoint;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void record(long nanos, int status) {
+            latency.record(nanos);
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (status < 200 || status >= 400) {
+                errors.increment();
+            }
+        }
+
+        String endpoint() {
+            return endpoint;
+        }
+
+        LatencyHistogram latency() {
+            return latency;
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+
+        // Status code to count; -1 stands for timeouts and connection failures
+        Map<Integer, Long> statuses() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
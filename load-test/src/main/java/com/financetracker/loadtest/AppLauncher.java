@@ -0,0 +1,130 @@
+package com.financetracker.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Starts the packaged application on a free port against a fresh file-backed H2 database and waits for
+// the readiness probe. Rate limiting is off unless asked for, since every virtual user shares one address.
+// With --dataset-users the synthetic data generator fills the database first; readiness only flips once the
+// startup runners are done, so the run never starts against a half-seeded database.
+final class AppLauncher implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration DATASET_STARTUP_TIMEOUT = Duration.ofMinutes(30);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private AppLauncher(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static AppLauncher start(LoadTest.Settings settings) throws Exception {
+        Path appJar = settings.appJar();
+        if (!Files.isRegularFile(appJar)) {
+            throw new IllegalStateException("Application jar not found at " + appJar.toAbsolutePath()
+                + "; run mvn package in the project root or pass --app-jar / --base-url");
+        }
+        Path workDir = settings.output().toAbsolutePath().getParent();
+        Path databaseDir = workDir.resolve("load-test-db");
+        deleteRecursively(databaseDir);
+        Files.createDirectories(databaseDir);
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!settings.appJavaOptions().isBlank()) {
+            command.addAll(Arrays.asList(settings.appJavaOptions().trim().split("\\s+")));
+        }
+        command.addAll(List.of("-jar", appJar.toAbsolutePath().toString(),
+            "--server.port=" + port,
+            "--spring.datasource.url=jdbc:h2:file:" + databaseDir.resolve("finance"),
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.generate_statistics=false",
+            "--management.endpoint.health.probes.enabled=true",
+            "--logging.level.root=WARN",
+            "--logging.level.com.financetracker=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--rate-limit.enabled=" + settings.rateLimits(),
+            "--spring.threads.virtual.enabled=" + (settings.threads() == LoadTest.Threads.VIRTUAL)));
+        // Background history from the seeded generator, so queries run against realistic table sizes
+        if (settings.datasetUsers() > 0) {
+            command.addAll(List.of("--spring.profiles.active=datagen", "--datagen.users=" + settings.datasetUsers(),
+                "--datagen.seed=" + settings.seed()));
+        }
+
+        File log = workDir.resolve("load-test-app.log").toFile();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.to(log)).start();
+        AppLauncher launcher = new AppLauncher(process, "http://localhost:" + port);
+        try {
+            launcher.awaitReady(log, settings.datasetUsers() > 0 ? DATASET_STARTUP_TIMEOUT : STARTUP_TIMEOUT);
+        } catch (Exception e) {
+            launcher.close();
+            throw e;
+        }
+        return launcher;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    private void awaitReady(File log, Duration timeout) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+            .timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited during startup, see " + log.getAbsolutePath());
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Application not ready after " + timeout.toSeconds()
+            + " s, see " + log.getAbsolutePath());
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        if (Files.exists(dir)) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.financetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Drives the REST API with one virtual thread per simulated user (closed model) or per request (open model)
+// and reports throughput and latency percentiles per endpoint. Without --base-url it starts the packaged
+// application itself against a local H2 file database.
+//
+//   mvn -f load-test/pom.xml compile exec:java -Dexec.args="--users=200 --duration=120 --model=closed"
+//   mvn -f load-test/pom.xml compile exec:java -Dexec.args="--users=200 --model=open --rate=400"
+//   mvn -f load-test/pom.xml compile exec:java -Dexec.args="--users=1000 --think-time-ms=200 --threads=compare"
+//
+// Closed: each user waits for its response, thinks (exponential, mean --think-time-ms) and sends the next one,
+// so throughput falls as the server slows. Open: requests arrive as a Poisson process at --rate per second
+// whatever the server does, which is how queueing shows up in the latency tail.
+public final class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    enum Model { CLOSED, OPEN }
+
+    // How the launched application runs requests; COMPARE runs the same workload on both, platform first
+    enum Threads { PLATFORM, VIRTUAL, COMPARE }
+
+    record Settings(String baseUrl, Path appJar, String appJavaOptions, boolean rateLimits, int datasetUsers, Threads threads,
+                    int users, Duration duration, Duration rampUp, long thinkTimeMs, Model model, double rate,
+                    int maxInFlight, Duration requestTimeout, long seed, Path output, Path baseline) {
+
+        Settings withThreads(Threads threads, Path output, Path baseline) {
+            return new Settings(baseUrl, appJar, appJavaOptions, rateLimits, datasetUsers, threads, users, duration,
+                rampUp, thinkTimeMs, model, rate, maxInFlight, requestTimeout, seed, output, baseline);
+        }
+
+        static Settings parse(String[] args) {
+            Map<String, String> options = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            String baseline = options.get("baseline");
+            return new Settings(
+                options.get("base-url"),
+                Path.of(options.getOrDefault("app-jar", "../target/finance-tracker-1.0.0.jar")),
+                options.getOrDefault("app-java-opts", "-Xmx1g"),
+                Boolean.parseBoolean(options.getOrDefault("rate-limits", "false")),
+                Integer.parseInt(options.getOrDefault("dataset-users", "0")),
+                Threads.valueOf(options.getOrDefault("threads", "platform").toUpperCase()),
+                Integer.parseInt(options.getOrDefault("users", "50")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("ramp-up", "10"))),
+                Long.parseLong(options.getOrDefault("think-time-ms", "1000")),
+                Model.valueOf(options.getOrDefault("model", "closed").toUpperCase()),
+                Double.parseDouble(options.getOrDefault("rate", "100")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "10000")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "30"))),
+                Long.parseLong(options.getOrDefault("seed", "1")),
+                Path.of(options.getOrDefault("output", "target/load-test-results.json")),
+                baseline != null ? Path.of(baseline) : null);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = parseOrExit(args);
+        Files.createDirectories(settings.output().toAbsolutePath().getParent());
+        if (settings.threads() != Threads.COMPARE) {
+            launchAndRun(settings);
+            return;
+        }
+        if (settings.baseUrl() != null) {
+            throw new IllegalArgumentException("--threads=compare starts the application itself; drop --base-url");
+        }
+        // Same seed and workload on a fresh application each time; the virtual run is reported against the platform one
+        String output = settings.output().toString().replaceFirst("\\.json$", "");
+        Path platform = Path.of(output + "-platform.json");
+        launchAndRun(settings.withThreads(Threads.PLATFORM, platform, settings.baseline()));
+        launchAndRun(settings.withThreads(Threads.VIRTUAL, Path.of(output + "-virtual.json"), platform));
+    }
+
+    private static void launchAndRun(Settings settings) throws Exception {
+        AppLauncher launcher = settings.baseUrl() == null ? AppLauncher.start(settings) : null;
+        try {
+            String baseUrl = launcher != null ? launcher.baseUrl() : settings.baseUrl();
+            System.out.printf("Target %s, %d users, %s model, %s threads%n", baseUrl, settings.users(), settings.model(),
+                settings.threads().name().toLowerCase());
+            new LoadTest(settings, new ApiClient(baseUrl, settings.requestTimeout())).run();
+        } finally {
+            if (launcher != null) {
+                launcher.close();
+            }
+        }
+    }
+
+    private static Settings parseOrExit(String[] args) {
+        try {
+            return Settings.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Options: --base-url --app-jar --app-java-opts --rate-limits --dataset-users --threads=platform|virtual|compare --users --duration --ramp-up "
+                + "--think-time-ms --model=closed|open --rate --max-in-flight --timeout --seed --output --baseline");
+            System.exit(2);
+            return null;
+        }
+    }
+
+    private final Settings settings;
+    private final ApiClient client;
+    private final LongAdder dropped = new LongAdder();
+
+    private LoadTest(Settings settings, ApiClient client) {
+        this.settings = settings;
+        this.client = client;
+    }
+
+    private void run() throws Exception {
+        List<VirtualUser> users = setUpUsers();
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No user could sign up and sign in; is the application reachable?");
+        }
+
+        Instant started = Instant.now();
+        long measuredNanos = settings.model() == Model.CLOSED ? runClosed(users) : runOpen(users);
+        client.stopRecording();
+
+        Map<String, Object> report = report(started, measuredNanos);
+        MAPPER.writeValue(settings.output().toFile(), report);
+        System.out.printf("%nWrote %s%n", settings.output().toAbsolutePath());
+    }
+
+    // Accounts are created up front on virtual threads; set-up traffic is not part of the results
+    private List<VirtualUser> setUpUsers() throws Exception {
+        List<Long> categoryIds = ids(client.send("GET /api/categories", "GET", "/api/categories", null, null).body());
+        List<Long> incomeCategoryIds = ids(client.send("GET /api/income-categories", "GET", "/api/income-categories", null, null).body());
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        // Indexed by position so the per-user random seeds line up between runs whatever order set-up finishes in
+        VirtualUser[] ready = new VirtualUser[settings.users()];
+        // Sign-up hashes a password, so a few at a time is as fast as it gets and keeps set-up out of the login pool's way
+        Semaphore concurrentSetUps = new Semaphore(8);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.users(); i++) {
+                int index = i;
+                VirtualUser user = new VirtualUser(client, "lt" + runId + "u" + i, categoryIds, incomeCategoryIds);
+                executor.submit(() -> {
+                    concurrentSetUps.acquireUninterruptibly();
+                    try {
+                        if (user.setUp()) {
+                            ready[index] = user;
+                        }
+                    } finally {
+                        concurrentSetUps.release();
+                    }
+                });
+            }
+        }
+        List<VirtualUser> users = new ArrayList<>();
+        for (VirtualUser user : ready) {
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        System.out.printf("%d of %d users ready%n", users.size(), settings.users());
+        return users;
+    }
+
+    private long runClosed(List<VirtualUser> users) throws InterruptedException {
+        long rampUpNanos = settings.rampUp().toNanos();
+        long measureFrom = System.nanoTime() + rampUpNanos;
+        long end = measureFrom + settings.duration().toNanos();
+        AtomicInteger running = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users.size(); i++) {
+                VirtualUser user = users.get(i);
+                long startAt = measureFrom - rampUpNanos + rampUpNanos * i / users.size();
+                SplittableRandom random = new SplittableRandom(settings.seed() * 1_000_003 + i);
+                executor.submit(() -> {
+                    sleepUntil(startAt);
+                    running.incrementAndGet();
+                    while (System.nanoTime() < end) {
+                        user.perform(VirtualUser.Action.pick(random), System.nanoTime());
+                        sleepUntil(System.nanoTime() + thinkTimeNanos(random));
+                    }
+                });
+            }
+            sleepUntil(measureFrom);
+            client.startRecording();
+            System.out.printf("Measuring for %d s with %d users running%n", settings.duration().toSeconds(), running.get());
+        }
+        return end - measureFrom;
+    }
+
+    // Arrivals follow a seeded Poisson process; each request gets its own virtual thread so a slow response
+    // never delays the next arrival. Past --max-in-flight outstanding requests new arrivals are counted as dropped.
+    private long runOpen(List<VirtualUser> users) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long measureFrom = System.nanoTime() + settings.rampUp().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        boolean recording = false;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = System.nanoTime();
+            while (next < end) {
+                sleepUntil(next);
+                if (!recording && next >= measureFrom) {
+                    client.startRecording();
+                    dropped.reset();
+                    recording = true;
+                }
+                VirtualUser user = users.get(random.nextInt(users.size()));
+                VirtualUser.Action action = VirtualUser.Action.pick(random);
+                long intendedStart = next;
+                if (inFlight.tryAcquire()) {
+                    executor.submit(() -> {
+                        try {
+                            user.perform(action, intendedStart);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    dropped.increment();
+                }
+                next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            }
+        }
+        return end - measureFrom;
+    }
+
+    private long thinkTimeNanos(SplittableRandom random) {
+        if (settings.thinkTimeMs() <= 0) {
+            return 0;
+        }
+        return (long) (-Math.log(1 - random.nextDouble()) * TimeUnit.MILLISECONDS.toNanos(settings.thinkTimeMs()));
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private Map<String, Object> report(Instant started, long measuredNanos) throws Exception {
+        double seconds = measuredNanos / 1e9;
+        Map<String, Double> baseline = loadBaseline();
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+
+        System.out.printf("%n%-38s %9s %8s %9s %9s %9s %9s %9s %9s%s%n", "endpoint", "requests", "errors", "req/s",
+            "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", baseline.isEmpty() ? "" : "   p99 vs baseline");
+        for (ApiClient.EndpointStats stats : client.getStats().values()) {
+            LatencyHistogram latency = stats.latency();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", stats.endpoint());
+            entry.put("requests", latency.count());
+            entry.put("errors", stats.errors());
+            entry.put("statuses", stats.statuses());
+            entry.put("throughputPerSecond", latency.count() / seconds);
+            entry.put("meanMs", latency.meanMillis());
+            entry.put("p50Ms", latency.percentileMillis(0.50));
+            entry.put("p90Ms", latency.percentileMillis(0.90));
+            entry.put("p99Ms", latency.percentileMillis(0.99));
+            entry.put("p999Ms", latency.percentileMillis(0.999));
+            entry.put("maxMs", latency.maxMillis());
+            endpoints.add(entry);
+            requests += latency.count();
+            errors += stats.errors();
+
+            Double before = baseline.get(stats.endpoint());
+            System.out.printf("%-38s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%s%n", stats.endpoint(), latency.count(),
+                stats.errors(), latency.count() / seconds, latency.percentileMillis(0.50), latency.percentileMillis(0.90),
+                latency.percentileMillis(0.99), latency.percentileMillis(0.999), latency.maxMillis(),
+                before == null || before == 0 ? "" : String.format("   %+6.1f%%", (latency.percentileMillis(0.99) - before) / before * 100));
+        }
+        System.out.printf("%-38s %9d %8d %9.1f%n", "total", requests, errors, requests / seconds);
+        if (dropped.sum() > 0) {
+            System.out.printf("%d arrivals dropped at the in-flight limit%n", dropped.sum());
+        }
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("requests", requests);
+        totals.put("errors", errors);
+        totals.put("droppedArrivals", dropped.sum());
+        totals.put("throughputPerSecond", requests / seconds);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", started.toString());
+        report.put("settings", settingsSummary());
+        report.put("measuredSeconds", seconds);
+        report.put("totals", totals);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private Map<String, Object> settingsSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("model", settings.model().name().toLowerCase());
+        summary.put("users", settings.users());
+        summary.put("durationSeconds", settings.duration().toSeconds());
+        summary.put("rampUpSeconds", settings.rampUp().toSeconds());
+        summary.put("thinkTimeMs", settings.thinkTimeMs());
+        summary.put("rate", settings.model() == Model.OPEN ? settings.rate() : null);
+        summary.put("rateLimits", settings.rateLimits());
+        summary.put("datasetUsers", settings.datasetUsers());
+        summary.put("threads", settings.threads().name().toLowerCase());
+        summary.put("seed", settings.seed());
+        summary.put("baseUrl", settings.baseUrl());
+        return summary;
+    }
+
+    private Map<String, Double> loadBaseline() throws Exception {
+        Map<String, Double> baseline = new HashMap<>();
+        if (settings.baseline() != null) {
+            for (JsonNode endpoint : MAPPER.readTree(settings.baseline().toFile()).path("endpoints")) {
+                baseline.put(endpoint.path("endpoint").asText(), endpoint.path("p99Ms").asDouble());
+            }
+        }
+        return baseline;
+    }
+
+    private static List<Long> ids(JsonNode items) {
+        List<Long> ids = new ArrayList<>();
+        if (items != null) {
+            for (JsonNode item : items) {
+                ids.add(item.path("id").asLong());
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Could not read categories from the application");
+        }
+        return ids;
+    }
+}
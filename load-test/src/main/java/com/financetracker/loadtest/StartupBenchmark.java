@@ -0,0 +1,323 @@
+package com.financetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Measures time-to-ready of the packaged application: from launching the JVM until /actuator/health/readiness
+// answers 200, which is only after the startup runners (category seeding, catalog warm-up) have finished.
+// Each variant is launched once to warm the file cache and then --runs times against a fresh in-memory database:
+//
+//   default        java -jar with the default profile
+//   faststart      java -jar with the faststart profile (lazy beans, deferred repository bootstrap)
+//   faststart-cds  the jar extracted to application.jar + lib/ and started with a class-data-sharing archive
+//                  recorded by a training run that exits as soon as the context has refreshed
+//
+// The extracted application and its archive are left in target/startup/app, laid out to be deployed as they are.
+//
+//   mvn -f load-test/pom.xml compile exec:java -Dexec.mainClass=com.financetracker.loadtest.StartupBenchmark \
+//       -Dexec.args="--runs=10 --baseline=previous-startup.json"
+public final class StartupBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final String CLASSES_PREFIX = "BOOT-INF/classes/";
+
+    record Settings(Path appJar, String appJavaOptions, int runs, Path workDir, Path output, Path baseline) {
+
+        static Settings parse(String[] args) {
+            Map<String, String> options = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            String baseline = options.get("baseline");
+            return new Settings(
+                Path.of(options.getOrDefault("app-jar", "../target/finance-tracker-1.0.0.jar")),
+                options.getOrDefault("app-java-opts", "-Xmx512m"),
+                Math.max(1, Integer.parseInt(options.getOrDefault("runs", "5"))),
+                Path.of(options.getOrDefault("work-dir", "target/startup")),
+                Path.of(options.getOrDefault("output", "target/startup-results.json")),
+                baseline != null ? Path.of(baseline) : null);
+        }
+    }
+
+    record Variant(String name, Path directory, List<String> launch) {}
+
+    record Sample(double timeToReadyMs, Double reportedMs) {}
+
+    public static void main(String[] args) throws Exception {
+        Settings settings;
+        try {
+            settings = Settings.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Options: --app-jar --app-java-opts --runs --work-dir --output --baseline");
+            System.exit(2);
+            return;
+        }
+        if (!Files.isRegularFile(settings.appJar())) {
+            throw new IllegalStateException("Application jar not found at " + settings.appJar().toAbsolutePath()
+                + "; run mvn package in the project root or pass --app-jar");
+        }
+        Path workDir = settings.workDir().toAbsolutePath();
+        Files.createDirectories(workDir);
+        Files.createDirectories(settings.output().toAbsolutePath().getParent());
+
+        Path appDir = extract(settings.appJar(), workDir.resolve("app"));
+        Path archive = train(settings, appDir, workDir.resolve("training.log"));
+
+        String appJar = settings.appJar().toAbsolutePath().toString();
+        List<Variant> variants = List.of(
+            new Variant("default", workDir, javaCommand(settings, List.of("-jar", appJar))),
+            new Variant("faststart", workDir, javaCommand(settings, List.of("-jar", appJar,
+                "--spring.profiles.active=faststart"))),
+            new Variant("faststart-cds", appDir, javaCommand(settings, List.of("-XX:SharedArchiveFile=" + archive,
+                "-jar", "application.jar", "--spring.profiles.active=faststart"))));
+
+        Map<String, List<Sample>> samples = new LinkedHashMap<>();
+        for (Variant variant : variants) {
+            System.out.printf("%s: warm-up and %d runs%n", variant.name(), settings.runs());
+            launch(variant, workDir.resolve(variant.name() + ".log"));
+            List<Sample> runs = new ArrayList<>();
+            for (int i = 0; i < settings.runs(); i++) {
+                runs.add(launch(variant, workDir.resolve(variant.name() + ".log")));
+            }
+            samples.put(variant.name(), runs);
+        }
+
+        Map<String, Object> report = report(settings, samples);
+        MAPPER.writeValue(settings.output().toFile(), report);
+        System.out.printf("%nWrote %s; the CDS-ready application is in %s%n", settings.output().toAbsolutePath(), appDir);
+    }
+
+    private static List<String> javaCommand(Settings settings, List<String> arguments) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!settings.appJavaOptions().isBlank()) {
+            command.addAll(List.of(settings.appJavaOptions().trim().split("\\s+")));
+        }
+        command.addAll(arguments);
+        return command;
+    }
+
+    // Unpacks the Boot jar into application.jar (own classes and resources, Class-Path manifest) plus lib/.
+    // CDS only archives classes loaded from plain jars on the class path, not from jars nested in a jar.
+    private static Path extract(Path bootJar, Path dir) throws IOException {
+        AppLauncher.deleteRecursively(dir);
+        Files.createDirectories(dir.resolve("lib"));
+        try (JarFile jar = new JarFile(bootJar.toFile())) {
+            List<String> libraries = libraries(jar);
+            List<String> classPath = new ArrayList<>();
+            for (String library : libraries) {
+                String name = library.substring(library.lastIndexOf('/') + 1);
+                try (InputStream in = jar.getInputStream(jar.getJarEntry(library))) {
+                    Files.copy(in, dir.resolve("lib").resolve(name));
+                }
+                classPath.add("lib/" + name);
+            }
+
+            Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS,
+                jar.getManifest().getMainAttributes().getValue("Start-Class"));
+            manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, String.join(" ", classPath));
+            try (OutputStream file = Files.newOutputStream(dir.resolve("application.jar"));
+                 JarOutputStream out = new JarOutputStream(file, manifest)) {
+                // Directory entries are kept, component scanning needs them to find the packages
+                for (JarEntry entry : Collections.list(jar.entries())) {
+                    String name = entry.getName();
+                    if (!name.startsWith(CLASSES_PREFIX) || name.length() == CLASSES_PREFIX.length()) {
+                        continue;
+                    }
+                    out.putNextEntry(new JarEntry(name.substring(CLASSES_PREFIX.length())));
+                    if (!entry.isDirectory()) {
+                        try (InputStream in = jar.getInputStream(entry)) {
+                            in.transferTo(out);
+                        }
+                    }
+                    out.closeEntry();
+                }
+            }
+        }
+        return dir;
+    }
+
+    // Library jars in the order the Boot launcher uses, from BOOT-INF/classpath.idx when the jar has one
+    private static List<String> libraries(JarFile jar) throws IOException {
+        List<String> libraries = new ArrayList<>();
+        JarEntry index = jar.getJarEntry("BOOT-INF/classpath.idx");
+        if (index != null) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(jar.getInputStream(index), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("- \"")) {
+                        libraries.add(line.substring(3, line.length() - 1));
+                    }
+                }
+            }
+            return libraries;
+        }
+        for (JarEntry entry : Collections.list(jar.entries())) {
+            String name = entry.getName();
+            if (name.startsWith("BOOT-INF/lib/") && name.endsWith(".jar")) {
+                libraries.add(name);
+            }
+        }
+        return libraries;
+    }
+
+    // Starts the extracted application once with the faststart profile and records every class it loads up to
+    // the end of context refresh; spring.context.exit=onRefresh stops the JVM there so the archive gets written
+    private static Path train(Settings settings, Path appDir, Path log) throws Exception {
+        Path archive = appDir.resolve("application.jsa");
+        List<String> command = javaCommand(settings, List.of("-XX:ArchiveClassesAtExit=" + archive,
+            "-Dspring.context.exit=onRefresh", "-jar", "application.jar", "--spring.profiles.active=faststart",
+            "--server.port=0"));
+        System.out.println("Recording the class-data-sharing archive");
+        Process process = new ProcessBuilder(command).directory(appDir.toFile()).redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.to(log.toFile())).start();
+        if (!process.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+            throw new IllegalStateException("Training run did not finish, see " + log);
+        }
+        if (!Files.isRegularFile(archive)) {
+            throw new IllegalStateException("Training run wrote no archive, see " + log);
+        }
+        return archive;
+    }
+
+    private static Sample launch(Variant variant, Path log) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>(variant.launch());
+        command.addAll(List.of("--server.port=" + port, "--management.endpoint.health.probes.enabled=true"));
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+            .timeout(Duration.ofSeconds(1)).build();
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(variant.directory().toFile()).redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.to(log.toFile())).start();
+        try {
+            long deadline = started + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited during startup, see " + log);
+                }
+                try {
+                    if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        double timeToReadyMs = (System.nanoTime() - started) / 1e6;
+                        return new Sample(timeToReadyMs, reportedStartup(log));
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(variant.name() + " not ready after " + STARTUP_TIMEOUT.toSeconds()
+                + " s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Spring's own "Started ... in N seconds", which leaves out JVM start-up and the runners
+    private static Double reportedStartup(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) * 1000 : null;
+    }
+
+    private static Map<String, Object> report(Settings settings, Map<String, List<Sample>> samples) throws Exception {
+        Map<String, Double> baseline = new HashMap<>();
+        if (settings.baseline() != null) {
+            for (JsonNode variant : MAPPER.readTree(settings.baseline().toFile()).path("variants")) {
+                baseline.put(variant.path("name").asText(), variant.path("medianMs").asDouble());
+            }
+        }
+
+        double defaultMedian = median(samples.get("default"));
+        List<Map<String, Object>> variants = new ArrayList<>();
+        System.out.printf("%n%-16s %10s %10s %10s %14s %12s%s%n", "variant", "min ms", "median ms", "max ms",
+            "spring ms", "vs default", baseline.isEmpty() ? "" : "  vs baseline");
+        for (Map.Entry<String, List<Sample>> entry : samples.entrySet()) {
+            List<Double> times = entry.getValue().stream().map(Sample::timeToReadyMs).sorted().toList();
+            List<Double> reported = entry.getValue().stream().map(Sample::reportedMs)
+                .filter(Objects::nonNull).sorted().toList();
+            double median = median(entry.getValue());
+            Double reportedMedian = reported.isEmpty() ? null : reported.get(reported.size() / 2);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", entry.getKey());
+            row.put("runs", times.size());
+            row.put("minMs", times.get(0));
+            row.put("medianMs", median);
+            row.put("maxMs", times.get(times.size() - 1));
+            row.put("springReportedMedianMs", reportedMedian);
+            row.put("timesMs", times);
+            variants.add(row);
+
+            Double before = baseline.get(entry.getKey());
+            System.out.printf("%-16s %10.0f %10.0f %10.0f %14s %11.1f%%%s%n", entry.getKey(), times.get(0), median,
+                times.get(times.size() - 1), reportedMedian == null ? "-" : String.format("%.0f", reportedMedian),
+                (median - defaultMedian) / defaultMedian * 100,
+                before == null || before == 0 ? "" : String.format("  %+10.1f%%", (median - before) / before * 100));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("appJar", settings.appJar().toString());
+        summary.put("appJavaOptions", settings.appJavaOptions());
+        summary.put("runs", settings.runs());
+        summary.put("javaVersion", System.getProperty("java.version"));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", Instant.now().toString());
+        report.put("settings", summary);
+        report.put("variants", variants);
+        return report;
+    }
+
+    private static double median(List<Sample> samples) {
+        List<Double> times = samples.stream().map(Sample::timeToReadyMs).sorted().toList();
+        return times.get(times.size() / 2);
+    }
+}
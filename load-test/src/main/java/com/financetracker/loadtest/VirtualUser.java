@@ -0,0 +1,207 @@
+package com.financetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+
+// One account driven through the API. Set-up registers it, signs in and gives it some history; after that
+// each perform() call is one request from the mix below. State is safe to share between concurrent requests,
+// which the open model produces when a user's next arrival comes before the previous response.
+final class VirtualUser {
+
+    private static final int SEED_EXPENSES = 20;
+    private static final int SEED_INCOMES = 5;
+    private static final String PASSWORD = "load-test-password";
+
+    // Weights roughly follow a session in the web UI: mostly dashboard and list views, some edits
+    enum Action {
+        LIST_EXPENSES(15, "GET /api/expenses"),
+        CREATE_EXPENSE(10, "POST /api/expenses"),
+        UPDATE_EXPENSE(4, "PUT /api/expenses/{id}"),
+        DELETE_EXPENSE(3, "DELETE /api/expenses/{id}"),
+        LIST_INCOMES(8, "GET /api/incomes"),
+        CREATE_INCOME(5, "POST /api/incomes"),
+        UPDATE_INCOME(2, "PUT /api/incomes/{id}"),
+        DELETE_INCOME(2, "DELETE /api/incomes/{id}"),
+        CALENDAR(12, "GET /api/dashboard/calendar-data"),
+        MONTHLY_OVERVIEW(10, "GET /api/dashboard/monthly-overview"),
+        DAILY_SUMMARY(8, "GET /api/dashboard/daily-summary"),
+        LIST_BUDGETS(6, "GET /api/budgets"),
+        BUDGETS_NEARING_LIMIT(5, "GET /api/budgets/nearing-limit"),
+        BUDGETS_EXCEEDED(3, "GET /api/budgets/exceeded"),
+        CATEGORIES(5, "GET /api/categories"),
+        SIGN_IN(2, "POST /api/auth/signin");
+
+        private static final Action[] VALUES = values();
+        private static final int TOTAL_WEIGHT = Arrays.stream(VALUES).mapToInt(a -> a.weight).sum();
+
+        private final int weight;
+        private final String endpoint;
+
+        Action(int weight, String endpoint) {
+            this.weight = weight;
+            this.endpoint = endpoint;
+        }
+
+        static Action pick(SplittableRandom random) {
+            int roll = random.nextInt(TOTAL_WEIGHT);
+            for (Action action : VALUES) {
+                roll -= action.weight;
+                if (roll < 0) {
+                    return action;
+                }
+            }
+            return LIST_EXPENSES;
+        }
+    }
+
+    private final ApiClient client;
+    private final String username;
+    private final List<Long> categoryIds;
+    private final List<Long> incomeCategoryIds;
+    private final ConcurrentLinkedDeque<Long> expenseIds = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<Long> incomeIds = new ConcurrentLinkedDeque<>();
+    private volatile String token;
+
+    VirtualUser(ApiClient client, String username, List<Long> categoryIds, List<Long> incomeCategoryIds) {
+        this.client = client;
+        this.username = username;
+        this.categoryIds = categoryIds;
+        this.incomeCategoryIds = incomeCategoryIds;
+    }
+
+    boolean setUp() {
+        Map<String, Object> signUp = new LinkedHashMap<>();
+        signUp.put("username", username);
+        signUp.put("email", username + "@loadtest.local");
+        signUp.put("password", PASSWORD);
+        signUp.put("firstName", "Load");
+        signUp.put("lastName", "Test");
+        if (!client.send("POST /api/auth/signup", "POST", "/api/auth/signup", signUp, null).ok() || !signIn(System.nanoTime())) {
+            return false;
+        }
+        for (Long categoryId : categoryIds.subList(0, Math.min(3, categoryIds.size()))) {
+            Map<String, Object> budget = new LinkedHashMap<>();
+            budget.put("name", "Budget " + categoryId);
+            budget.put("budgetLimit", new BigDecimal("300.00"));
+            budget.put("categoryId", categoryId);
+            client.send("POST /api/budgets", "POST", "/api/budgets", budget, token);
+        }
+        for (int i = 0; i < SEED_EXPENSES; i++) {
+            createExpense(System.nanoTime());
+        }
+        for (int i = 0; i < SEED_INCOMES; i++) {
+            createIncome(System.nanoTime());
+        }
+        return true;
+    }
+
+    void perform(Action action, long intendedStart) {
+        LocalDate today = LocalDate.now();
+        switch (action) {
+            case LIST_EXPENSES -> get(action, "/api/expenses", intendedStart);
+            case CREATE_EXPENSE -> createExpense(intendedStart);
+            case UPDATE_EXPENSE -> {
+                Long id = expenseIds.peekLast();
+                if (id != null) {
+                    client.send(action.endpoint, "PUT", "/api/expenses/" + id, expense(), token, intendedStart);
+                }
+            }
+            case DELETE_EXPENSE -> {
+                Long id = expenseIds.pollFirst();
+                if (id != null) {
+                    client.send(action.endpoint, "DELETE", "/api/expenses/" + id, null, token, intendedStart);
+                }
+            }
+            case LIST_INCOMES -> get(action, "/api/incomes", intendedStart);
+            case CREATE_INCOME -> createIncome(intendedStart);
+            case UPDATE_INCOME -> {
+                Long id = incomeIds.peekLast();
+                if (id != null) {
+                    client.send(action.endpoint, "PUT", "/api/incomes/" + id, income(), token, intendedStart);
+                }
+            }
+            case DELETE_INCOME -> {
+                Long id = incomeIds.pollFirst();
+                if (id != null) {
+                    client.send(action.endpoint, "DELETE", "/api/incomes/" + id, null, token, intendedStart);
+                }
+            }
+            case CALENDAR -> get(action, "/api/dashboard/calendar-data?year=" + today.getYear()
+                + "&month=" + today.getMonthValue(), intendedStart);
+            case MONTHLY_OVERVIEW -> get(action, "/api/dashboard/monthly-overview?year=" + today.getYear()
+                + "&month=" + today.getMonthValue(), intendedStart);
+            case DAILY_SUMMARY -> get(action, "/api/dashboard/daily-summary?date="
+                + today.minusDays(ThreadLocalRandom.current().nextInt(28)), intendedStart);
+            case LIST_BUDGETS -> get(action, "/api/budgets", intendedStart);
+            case BUDGETS_NEARING_LIMIT -> get(action, "/api/budgets/nearing-limit", intendedStart);
+            case BUDGETS_EXCEEDED -> get(action, "/api/budgets/exceeded", intendedStart);
+            case CATEGORIES -> get(action, "/api/categories", intendedStart);
+            case SIGN_IN -> signIn(intendedStart);
+        }
+    }
+
+    private void get(Action action, String path, long intendedStart) {
+        client.send(action.endpoint, "GET", path, null, token, intendedStart);
+    }
+
+    private boolean signIn(long intendedStart) {
+        Map<String, Object> login = Map.of("usernameOrEmail", username, "password", PASSWORD);
+        ApiClient.Response response = client.send(Action.SIGN_IN.endpoint, "POST", "/api/auth/signin", login, null, intendedStart);
+        if (response.ok() && response.body() != null && response.body().hasNonNull("token")) {
+            token = response.body().get("token").asText();
+            return true;
+        }
+        return false;
+    }
+
+    private void createExpense(long intendedStart) {
+        ApiClient.Response response = client.send(Action.CREATE_EXPENSE.endpoint, "POST", "/api/expenses",
+            expense(), token, intendedStart);
+        rememberId(response, expenseIds);
+    }
+
+    private void createIncome(long intendedStart) {
+        ApiClient.Response response = client.send(Action.CREATE_INCOME.endpoint, "POST", "/api/incomes",
+            income(), token, intendedStart);
+        rememberId(response, incomeIds);
+    }
+
+    private static void rememberId(ApiClient.Response response, ConcurrentLinkedDeque<Long> ids) {
+        JsonNode body = response.body();
+        if (response.ok() && body != null && body.hasNonNull("id")) {
+            ids.addLast(body.get("id").asLong());
+        }
+    }
+
+    // Amounts and dates land in the current month, so the dashboard views have something to aggregate
+    private Map<String, Object> expense() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> expense = new LinkedHashMap<>();
+        expense.put("amount", BigDecimal.valueOf(100 + random.nextInt(15000), 2));
+        expense.put("description", "Load test expense");
+        expense.put("categoryId", categoryIds.get(random.nextInt(categoryIds.size())));
+        expense.put("expenseDate", LocalDateTime.now().withDayOfMonth(1 + random.nextInt(LocalDate.now().getDayOfMonth()))
+            .withNano(0).toString());
+        return expense;
+    }
+
+    private Map<String, Object> income() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> income = new LinkedHashMap<>();
+        income.put("amount", BigDecimal.valueOf(50000 + random.nextInt(400000), 2));
+        income.put("description", "Load test income");
+        income.put("date", LocalDate.now().withDayOfMonth(1 + random.nextInt(LocalDate.now().getDayOfMonth())).toString());
+        income.put("categoryId", incomeCategoryIds.get(random.nextInt(incomeCategoryIds.size())));
+        return income;
+    }
+}
@@ -0,0 +1,68 @@
+package com.financetracker.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+// Budget helpers on the minor-unit representation, next to the BigDecimal arithmetic they replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetMathBenchmark {
+
+    private Budget budget;
+    private BigDecimal limit;
+    private BigDecimal spent;
+
+    @Setup
+    public void setUp() {
+        limit = new BigDecimal("1250.00");
+        spent = new BigDecimal("987.65");
+        budget = new Budget("Groceries", limit, null, null);
+        budget.setSpentAmount(spent);
+    }
+
+    @Benchmark
+    public Double budgetPercentageSpent() {
+        return budget.getPercentageSpent();
+    }
+
+    @Benchmark
+    public BigDecimal budgetRemainingAmount() {
+        return budget.getRemainingAmount();
+    }
+
+    @Benchmark
+    public double bigDecimalPercentageSpent() {
+        return spent.multiply(BigDecimal.valueOf(100)).divide(limit, 2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalRemainingAmount() {
+        return limit.subtract(spent);
+    }
+
+    @Benchmark
+    public long moneySum() {
+        return Money.add(Money.toMinor(limit), Money.toMinor(spent));
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        return limit.add(spent);
+    }
+}
@@ -0,0 +1,500 @@
+package com.financetracker.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financetracker.FinanceTrackerApplication;
+import com.financetracker.model.Budget;
+import com.financetracker.model.Category;
+import com.financetracker.model.Expense;
+import com.financetracker.model.Income;
+import com.financetracker.model.User;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Times every ExpenseRepository, IncomeRepository and BudgetRepository query against a file-backed H2 database
+// that grows through the configured sizes (rows per table). The dataset is generated from a fixed seed and all
+// query arguments hang off a fixed anchor date, so two runs with the same settings see identical data and
+// their JSON reports can be compared; pass -Dbench.baseline=<earlier report> to print the p50 change per query.
+//
+//   mvn -Pjmh test-compile exec:exec@repository-benchmark [-Dbench.scales=10000,100000] [-Dbench.users=1000]
+public final class RepositoryQueryBenchmark {
+
+    private static final LocalDateTime ANCHOR = LocalDateTime.of(2024, 12, 31, 23, 59);
+    private static final int SPAN_DAYS = 730;
+    private static final int MIN_SAMPLES = 5;
+
+    private final Settings settings;
+    private final StatementCapture capture;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate rolledBack;
+    private final Seeder seeder;
+    private final List<QueryCase> cases;
+
+    private RepositoryQueryBenchmark(Settings settings, ConfigurableApplicationContext context, StatementCapture capture) {
+        this.settings = settings;
+        this.capture = capture;
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.rolledBack = new TransactionTemplate(transactionManager);
+        this.seeder = new Seeder(new JdbcTemplate(capture.getTarget()), settings);
+        this.cases = queryCases(context.getBean(ExpenseRepository.class), context.getBean(IncomeRepository.class),
+            context.getBean(BudgetRepository.class));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        Path databaseDir = settings.output().toAbsolutePath().getParent().resolve("repository-benchmark-db");
+        if (Files.exists(databaseDir)) {
+            try (Stream<Path> files = Files.walk(databaseDir)) {
+                files.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+            }
+        }
+
+        StatementCapture capture = new StatementCapture();
+        // Command-line style arguments so they win over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FinanceTrackerApplication.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(capture))
+            .run("--spring.datasource.url=jdbc:h2:file:" + databaseDir.resolve("finance") + ";CACHE_SIZE=262144",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.financetracker=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--budget.rollover.cron=-",
+                "--budget.reconciliation.cron=-",
+                "--recurring.posting.cron=-",
+                "--sql.monitor.repeat-threshold=" + Integer.MAX_VALUE);
+        try {
+            new RepositoryQueryBenchmark(settings, context, capture).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    private void run() throws Exception {
+        reportUncoveredQueries();
+        Map<String, Double> baseline = loadBaseline();
+        List<CaseResult> results = new ArrayList<>();
+
+        for (int scale : settings.scales()) {
+            long seedStarted = System.nanoTime();
+            Arguments arguments = seeder.growTo(scale);
+            System.out.printf("%n== %,d rows per table (seeded in %d s) ==%n", scale,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStarted));
+            System.out.printf("%-18s %-52s %8s %10s %10s %10s %11s%s%n", "repository", "query", "samples",
+                "p50 us", "p99 us", "rows", "scanned", baseline.isEmpty() ? "" : "   p50 vs baseline");
+
+            for (QueryCase queryCase : cases) {
+                CaseResult result = measure(scale, queryCase, arguments);
+                results.add(result);
+                Double before = baseline.get(result.key());
+                System.out.printf("%-18s %-52s %8d %10.1f %10.1f %10d %11d%s%n", result.repository(), result.query(),
+                    result.samples(), result.p50Micros(), result.p99Micros(), result.rowsReturned(), result.rowsScanned(),
+                    before == null ? "" : String.format("   %+6.1f%%", (result.p50Micros() - before) / before * 100));
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("results", results);
+        new ObjectMapper().findAndRegisterModules().enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(settings.output().toFile(), report);
+        System.out.printf("%nWrote %s%n", settings.output().toAbsolutePath());
+    }
+
+    private CaseResult measure(int scale, QueryCase queryCase, Arguments arguments) throws Exception {
+        for (int i = 0; i < settings.warmup(); i++) {
+            execute(queryCase, arguments);
+        }
+
+        capture.start();
+        int rows = execute(queryCase, arguments);
+        List<StatementCapture.CapturedStatement> statements = capture.stop();
+        List<String> sql = new ArrayList<>();
+        List<String> plans = new ArrayList<>();
+        long scanned = 0;
+        for (StatementCapture.CapturedStatement statement : statements) {
+            StatementCapture.Explained explained = capture.explain(statement);
+            sql.add(statement.sql());
+            plans.add(explained.plan());
+            scanned += explained.rowsScanned();
+        }
+
+        long[] samples = new long[settings.iterations()];
+        int taken = 0;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.caseBudgetMs());
+        while (taken < samples.length && (taken < MIN_SAMPLES || System.nanoTime() < deadline)) {
+            long started = System.nanoTime();
+            execute(queryCase, arguments);
+            samples[taken++] = System.nanoTime() - started;
+        }
+        long[] sorted = Arrays.copyOf(samples, taken);
+        Arrays.sort(sorted);
+        return new CaseResult(scale, queryCase.repository(), queryCase.query(), taken,
+            percentileMicros(sorted, 0.50), percentileMicros(sorted, 0.99), rows, scanned, sql, plans);
+    }
+
+    // Each call runs in its own transaction, as it would behind a service method; modifying queries are rolled back
+    private int execute(QueryCase queryCase, Arguments arguments) {
+        TransactionTemplate template = queryCase.modifying() ? rolledBack : readOnly;
+        Integer rows = template.execute(status -> {
+            Object result = queryCase.call().apply(arguments);
+            if (queryCase.modifying()) {
+                status.setRollbackOnly();
+            }
+            return rowCount(result);
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private static int rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer updated) {
+            return updated;
+        }
+        return 1;
+    }
+
+    // Nearest-rank percentile
+    private static double percentileMicros(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1000.0;
+    }
+
+    // Names every declared query method that has no case below, so new queries don't go unmeasured
+    private void reportUncoveredQueries() {
+        Set<String> covered = cases.stream().map(c -> c.repository() + "." + c.query()).collect(Collectors.toSet());
+        Set<String> missing = new TreeSet<>();
+        for (Class<?> repository : List.of(ExpenseRepository.class, ExpenseRepositoryCustom.class,
+                IncomeRepository.class, BudgetRepository.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                String owner = repository == ExpenseRepositoryCustom.class ? "ExpenseRepository" : repository.getSimpleName();
+                if (!Modifier.isStatic(method.getModifiers()) && !covered.contains(owner + "." + method.getName())) {
+                    missing.add(owner + "." + method.getName());
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            System.out.println("Queries without a benchmark case: " + String.join(", ", missing));
+        }
+    }
+
+    private Map<String, Double> loadBaseline() throws Exception {
+        Map<String, Double> baseline = new HashMap<>();
+        if (settings.baseline() != null) {
+            JsonNode results = new ObjectMapper().readTree(settings.baseline().toFile()).path("results");
+            for (JsonNode result : results) {
+                baseline.put(result.path("scale").asInt() + ":" + result.path("repository").asText() + "."
+                    + result.path("query").asText(), result.path("p50Micros").asDouble());
+            }
+        }
+        return baseline;
+    }
+
+    private static List<QueryCase> queryCases(ExpenseRepository expenses, IncomeRepository incomes,
+                                              BudgetRepository budgets) {
+        String e = "ExpenseRepository";
+        String i = "IncomeRepository";
+        String b = "BudgetRepository";
+        EnumSet<Budget.Status> attention = EnumSet.of(Budget.Status.NEARING_LIMIT, Budget.Status.EXCEEDED);
+        LocalDateTime periodStart = Budget.PeriodType.MONTHLY.periodStart(ANCHOR);
+        LocalDateTime periodEnd = Budget.PeriodType.MONTHLY.periodEnd(ANCHOR);
+
+        return List.of(
+            read(e, "findByUserOrderByExpenseDateDesc", a -> expenses.findByUserOrderByExpenseDateDesc(a.user())),
+            read(e, "findByUserAndCategoryOrderByExpenseDateDesc",
+                a -> expenses.findByUserAndCategoryOrderByExpenseDateDesc(a.user(), a.category())),
+            read(e, "findByUserAndExpenseDateBetweenOrderByExpenseDateDesc",
+                a -> expenses.findByUserAndExpenseDateBetweenOrderByExpenseDateDesc(a.user(), a.monthStart(), a.monthEnd())),
+            read(e, "findExpensesByUserAndDateRange",
+                a -> expenses.findExpensesByUserAndDateRange(a.user(), a.monthStart(), a.monthEnd())),
+            read(e, "getTotalSpentByUserAndCategoryInDateRange",
+                a -> expenses.getTotalSpentByUserAndCategoryInDateRange(a.user(), a.category(), a.monthStart(), a.monthEnd())),
+            read(e, "getSpendingByCategory", a -> expenses.getSpendingByCategory(a.user(), a.monthStart(), a.monthEnd())),
+            read(e, "getTotalSpentByUserInDateRange",
+                a -> expenses.getTotalSpentByUserInDateRange(a.user(), a.monthStart(), a.monthEnd())),
+            read(e, "findByUserIdAndDate", a -> expenses.findByUserIdAndDate(a.userId(), a.day())),
+            read(e, "getDailyExpensesByUserId", a -> expenses.getDailyExpensesByUserId(a.userId(), a.day())),
+            read(e, "getDailyExpenseTotalsByUserId",
+                a -> expenses.getDailyExpenseTotalsByUserId(a.userId(), a.monthStart().toLocalDate(), a.monthEnd().toLocalDate())),
+            read(e, "getTotalsByUser", a -> expenses.getTotalsByUser()),
+            read(e, "getTotalExpensesByUserIdAndDateRange",
+                a -> expenses.getTotalExpensesByUserIdAndDateRange(a.userId(), a.monthStart().toLocalDate(), a.monthEnd().toLocalDate())),
+            read(e, "findByUserIdAndDateBetween",
+                a -> expenses.findByUserIdAndDateBetween(a.userId(), a.monthStart().toLocalDate(), a.monthEnd().toLocalDate())),
+            read(e, "findByCategory", a -> expenses.findByCategory(a.category())),
+            read(e, "findSearchDocumentsAfter", a -> expenses.findSearchDocumentsAfter(a.userId(), 0L, PageRequest.of(0, 1000))),
+            read(e, "findRecurringIdsDue", a -> expenses.findRecurringIdsDue(Expense.RecurringType.MONTHLY, ANCHOR)),
+            read(e, "findRecurringSeriesByUserId",
+                a -> expenses.findRecurringSeriesByUserId(a.userId(), Expense.RecurringType.NONE, ANCHOR)),
+            read(e, "findPostedOccurrences", a -> expenses.findPostedOccurrences(a.expenseSeriesIds(), ANCHOR)),
+            read(e, "searchRows", a -> expenses.searchRows(ExpenseSpecifications.belongsToUser(a.userId())
+                .and(ExpenseSpecifications.dateFrom(a.monthStart())).and(ExpenseSpecifications.dateTo(a.monthEnd())), 50)),
+
+            read(i, "findByUserIdOrderByCreatedAtDesc", a -> incomes.findByUserIdOrderByCreatedAtDesc(a.userId())),
+            read(i, "findByUserOrderByIncomeDateDesc", a -> incomes.findByUserOrderByIncomeDateDesc(a.user())),
+            read(i, "findByUserIdAndDateBetween",
+                a -> incomes.findByUserIdAndDateBetween(a.userId(), a.monthStart().toLocalDate(), a.monthEnd().toLocalDate())),
+            read(i, "findByUserIdAndDate", a -> incomes.findByUserIdAndDate(a.userId(), a.day())),
+            read(i, "getTotalIncomeByUserId", a -> incomes.getTotalIncomeByUserId(a.userId())),
+            read(i, "getTotalIncomeByUserIdAndDateRange",
+                a -> incomes.getTotalIncomeByUserIdAndDateRange(a.userId(), a.monthStart().toLocalDate(), a.monthEnd().toLocalDate())),
+            read(i, "getDailyIncomeByUserIdAndDate", a -> incomes.getDailyIncomeByUserIdAndDate(a.userId(), a.day())),
+            read(i, "getDailyIncomeTotalsByUserId",
+                a -> incomes.getDailyIncomeTotalsByUserId(a.userId(), a.monthStart().toLocalDate(), a.monthEnd().toLocalDate())),
+            read(i, "getTotalsByUser", a -> incomes.getTotalsByUser()),
+            read(i, "findByUserIdAndCategoryId", a -> incomes.findByUserIdAndCategoryId(a.userId(), a.incomeCategoryId())),
+            read(i, "findSearchDocumentsAfter", a -> incomes.findSearchDocumentsAfter(a.userId(), 0L, PageRequest.of(0, 1000))),
+            read(i, "findRecurringIdsDue", a -> incomes.findRecurringIdsDue(Income.RecurringType.MONTHLY, ANCHOR)),
+            read(i, "findRecurringSeriesByUserId",
+                a -> incomes.findRecurringSeriesByUserId(a.userId(), Income.RecurringType.NONE, ANCHOR)),
+            read(i, "findPostedOccurrences", a -> incomes.findPostedOccurrences(a.incomeSeriesIds(), ANCHOR)),
+
+            read(b, "findByUserAndIsActiveTrue", a -> budgets.findByUserAndIsActiveTrue(a.user())),
+            read(b, "findByUser", a -> budgets.findByUser(a.user())),
+            read(b, "findByUserAndCategoryAndIsActiveTrue",
+                a -> budgets.findByUserAndCategoryAndIsActiveTrue(a.user(), a.category())),
+            read(b, "findByUserAndIsActive", a -> budgets.findByUserAndIsActive(a.user(), true)),
+            read(b, "findByCategory", a -> budgets.findByCategory(a.category())),
+            read(b, "findActiveBudgetsByUserAndDate", a -> budgets.findActiveBudgetsByUserAndDate(a.user(), ANCHOR)),
+            read(b, "findActiveBudgetsByUserAndStatus", a -> budgets.findActiveBudgetsByUserAndStatus(a.user(), attention)),
+            read(b, "findBudgetsNearingLimit", a -> budgets.findBudgetsNearingLimit(a.user())),
+            read(b, "findExceededBudgets", a -> budgets.findExceededBudgets(a.user())),
+            read(b, "findActiveBudgetsByStatus", a -> budgets.findActiveBudgetsByStatus(attention)),
+            read(b, "countActiveByUser", a -> budgets.countActiveByUser()),
+            modifying(b, "refreshStatusForUsers", a -> budgets.refreshStatusForUsers(List.of(a.userId()),
+                Budget.Status.EXCEEDED, Budget.Status.NEARING_LIMIT, Budget.Status.ON_TRACK)),
+            read(b, "findUserIdsWithEndedPeriods",
+                a -> budgets.findUserIdsWithEndedPeriods(EnumSet.of(Budget.PeriodType.MONTHLY), ANCHOR)),
+            modifying(b, "rollOverEndedBudgets", a -> budgets.rollOverEndedBudgets(List.of(a.userId()),
+                Budget.PeriodType.MONTHLY, periodStart, periodEnd, ANCHOR)),
+            read(b, "findMinActiveBudgetUserId", a -> budgets.findMinActiveBudgetUserId()),
+            read(b, "findMaxActiveBudgetUserId", a -> budgets.findMaxActiveBudgetUserId()),
+            read(b, "computeActualSpendingForUserRange",
+                a -> budgets.computeActualSpendingForUserRange(a.userId(), a.userId() + 10))
+        );
+    }
+
+    private static QueryCase read(String repository, String query, Function<Arguments, Object> call) {
+        return new QueryCase(repository, query, false, call);
+    }
+
+    private static QueryCase modifying(String repository, String query, Function<Arguments, Object> call) {
+        return new QueryCase(repository, query, true, call);
+    }
+
+    private record QueryCase(String repository, String query, boolean modifying, Function<Arguments, Object> call) {}
+
+    public record CaseResult(int scale, String repository, String query, int samples, double p50Micros, double p99Micros,
+                             int rowsReturned, long rowsScanned, List<String> statements, List<String> plans) {
+        String key() {
+            return scale + ":" + repository + "." + query;
+        }
+    }
+
+    // Arguments shared by every case at one size: a user from the middle of the id range, whose share of the
+    // data is average, and the last full month before the anchor
+    record Arguments(User user, Category category, Long incomeCategoryId, LocalDate day,
+                     LocalDateTime monthStart, LocalDateTime monthEnd,
+                     List<Long> expenseSeriesIds, List<Long> incomeSeriesIds) {
+        Long userId() {
+            return user.getId();
+        }
+    }
+
+    public record Settings(int users, int[] scales, int warmup, int iterations, long caseBudgetMs, long seed,
+                           Path output, Path baseline) {
+        static Settings fromSystemProperties() {
+            int[] scales = Arrays.stream(System.getProperty("bench.scales", "10000,100000,1000000").split(","))
+                .map(String::trim).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt).sorted().toArray();
+            String baseline = System.getProperty("bench.baseline");
+            return new Settings(
+                Integer.getInteger("bench.users", 1000),
+                scales,
+                Integer.getInteger("bench.warmup", 20),
+                Integer.getInteger("bench.iterations", 200),
+                Long.getLong("bench.case-budget-ms", 10000L),
+                Long.getLong("bench.seed", 42L),
+                Paths.get(System.getProperty("bench.output", "target/repository-benchmark.json")),
+                baseline != null && !baseline.isBlank() ? Paths.get(baseline) : null);
+        }
+    }
+
+    // Grows expenses, incomes and budgets to the requested row count with batched inserts. Each table draws from
+    // its own seeded Random that carries on between sizes, so the same seed and sizes always give the same rows.
+    private static final class Seeder {
+        private static final int BATCH_SIZE = 5000;
+        private static final String INSERT_USER = "INSERT INTO users (username, email, password, first_name, last_name, "
+            + "created_at, updated_at, role) VALUES (?, ?, ?, ?, ?, ?, ?, 'USER')";
+        private static final String INSERT_EXPENSE = "INSERT INTO expenses (amount, description, category_id, user_id, "
+            + "expense_date, created_at, updated_at, notes, recurring_type, recurrence_posted_through) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        private static final String INSERT_INCOME = "INSERT INTO incomes (amount, description, category_id, user_id, "
+            + "income_date, created_at, updated_at, notes, recurring_type, recurrence_posted_through) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        private static final String INSERT_BUDGET = "INSERT INTO budgets (name, budget_limit, spent_amount, category_id, "
+            + "user_id, start_date, end_date, created_at, updated_at, notification_threshold, is_active, period_type, "
+            + "threshold_amount, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 80, ?, 'MONTHLY', ?, ?)";
+
+        private final JdbcTemplate jdbcTemplate;
+        private final Settings settings;
+        private final Random expenseRandom;
+        private final Random incomeRandom;
+        private final Random budgetRandom;
+        private final Set<List<Long>> activeBudgets = new HashSet<>();
+        private List<Long> userIds;
+        private List<Long> categoryIds;
+        private List<Long> incomeCategoryIds;
+        private int rows;
+
+        Seeder(JdbcTemplate jdbcTemplate, Settings settings) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.settings = settings;
+            this.expenseRandom = new Random(settings.seed());
+            this.incomeRandom = new Random(settings.seed() * 31 + 1);
+            this.budgetRandom = new Random(settings.seed() * 31 + 2);
+        }
+
+        Arguments growTo(int target) {
+            if (userIds == null) {
+                seedUsers();
+            }
+            insert(INSERT_EXPENSE, rows, target, index -> expenseRow(index, expenseRandom));
+            insert(INSERT_INCOME, rows, target, index -> incomeRow(index, incomeRandom));
+            insert(INSERT_BUDGET, rows, target, index -> budgetRow(index, budgetRandom));
+            rows = Math.max(rows, target);
+            // Fresh selectivity statistics, so plans reflect this size rather than the previous one
+            jdbcTemplate.execute("ANALYZE");
+            return arguments();
+        }
+
+        private void seedUsers() {
+            LocalDateTime created = ANCHOR.minusDays(SPAN_DAYS);
+            List<Object[]> users = new ArrayList<>();
+            for (int i = 0; i < settings.users(); i++) {
+                users.add(new Object[] {"bench-user-" + i, "bench-user-" + i + "@example.com", "{noop}benchmark",
+                    "Bench", "User " + i, created, created});
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER, users);
+            userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE 'bench-user-%' ORDER BY id", Long.class);
+            categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+            incomeCategoryIds = jdbcTemplate.queryForList("SELECT id FROM income_categories ORDER BY id", Long.class);
+        }
+
+        private void insert(String sql, int from, int to, Function<Integer, Object[]> row) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int index = from; index < to; index++) {
+                batch.add(row.apply(index));
+                if (batch.size() == BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(sql, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, batch);
+            }
+        }
+
+        private Object[] expenseRow(int index, Random random) {
+            LocalDateTime date = randomDate(random);
+            boolean recurring = random.nextInt(50) == 0;
+            // Squared draw: low category ids are far more common, like real spending
+            Long categoryId = categoryIds.get((int) (Math.pow(random.nextDouble(), 2) * categoryIds.size()));
+            return new Object[] {BigDecimal.valueOf(100 + random.nextInt(20000), 2), "Expense " + index, categoryId,
+                userIds.get(random.nextInt(userIds.size())), date, date, date, null,
+                recurring ? "MONTHLY" : "NONE", recurring ? date : null};
+        }
+
+        private Object[] incomeRow(int index, Random random) {
+            LocalDateTime date = randomDate(random);
+            boolean recurring = random.nextInt(10) == 0;
+            return new Object[] {BigDecimal.valueOf(10000 + random.nextInt(500000), 2), "Income " + index,
+                incomeCategoryIds.get(random.nextInt(incomeCategoryIds.size())),
+                userIds.get(random.nextInt(userIds.size())), date, date, date, null,
+                recurring ? "MONTHLY" : "NONE", recurring ? date : null};
+        }
+
+        private Object[] budgetRow(int index, Random random) {
+            LocalDateTime start = Budget.PeriodType.MONTHLY.periodStart(randomDate(random));
+            long limitMinor = 10000 + random.nextInt(200000);
+            long spentMinor = (long) (limitMinor * random.nextDouble() * 1.3);
+            long thresholdMinor = limitMinor * 80 / 100;
+            String status = spentMinor > limitMinor ? "EXCEEDED" : spentMinor >= thresholdMinor ? "NEARING_LIMIT" : "ON_TRACK";
+            Long categoryId = categoryIds.get(random.nextInt(categoryIds.size()));
+            Long userId = userIds.get(random.nextInt(userIds.size()));
+            // Like the service, at most one active budget per user and category; the rest are past periods
+            boolean active = random.nextInt(10) != 0 && activeBudgets.add(List.of(userId, categoryId));
+            return new Object[] {"Budget " + index, BigDecimal.valueOf(limitMinor, 2), BigDecimal.valueOf(spentMinor, 2),
+                categoryId, userId, start, Budget.PeriodType.MONTHLY.periodEnd(start), start, start, active,
+                BigDecimal.valueOf(thresholdMinor, 2), status};
+        }
+
+        private static LocalDateTime randomDate(Random random) {
+            return ANCHOR.minusMinutes((long) (random.nextDouble() * SPAN_DAYS * 24 * 60));
+        }
+
+        private Arguments arguments() {
+            Long userId = userIds.get(userIds.size() / 2);
+            User user = new User();
+            user.setId(userId);
+            Category category = new Category();
+            category.setId(categoryIds.get(0));
+            LocalDateTime monthStart = Budget.PeriodType.MONTHLY.periodStart(ANCHOR.minusMonths(1));
+            return new Arguments(user, category, incomeCategoryIds.get(0), ANCHOR.toLocalDate().minusDays(3),
+                monthStart, Budget.PeriodType.MONTHLY.periodEnd(monthStart),
+                seriesIds("expenses", userId), seriesIds("incomes", userId));
+        }
+
+        private List<Long> seriesIds(String table, Long userId) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + table
+                + " WHERE user_id = ? AND recurring_type <> 'NONE' ORDER BY id LIMIT 50", Long.class, userId);
+            return ids.isEmpty() ? List.of(-1L) : ids;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.financetracker.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Wraps the application's DataSource so the harness can see each prepared statement together with the
+// values bound to it, and replay it under H2's EXPLAIN ANALYZE for the plan and the rows each table scan read.
+// Recording only happens between start() and stop(); otherwise the wrapper just forwards.
+class StatementCapture implements BeanPostProcessor {
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    private final List<CapturedStatement> captured = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean capturing;
+    private DataSource target;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && target == null) {
+            target = dataSource;
+            return wrap(DataSource.class, dataSource, (proxy, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrapConnection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    // The unwrapped pool, for seeding and EXPLAIN without recording anything
+    DataSource getTarget() {
+        return target;
+    }
+
+    void start() {
+        captured.clear();
+        capturing = true;
+    }
+
+    List<CapturedStatement> stop() {
+        capturing = false;
+        synchronized (captured) {
+            return new ArrayList<>(captured);
+        }
+    }
+
+    // Runs the statement again under EXPLAIN ANALYZE in a transaction that is rolled back, so updates leave no trace
+    Explained explain(CapturedStatement statement) throws Exception {
+        try (Connection connection = target.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN ANALYZE " + statement.sql())) {
+                for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1));
+                    }
+                }
+                long scanned = 0;
+                Matcher matcher = SCAN_COUNT.matcher(plan);
+                while (matcher.find()) {
+                    scanned += Long.parseLong(matcher.group(1));
+                }
+                return new Explained(plan.toString(), scanned);
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return wrap(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement
+                    && !(result instanceof CallableStatement)) {
+                return wrapStatement((String) args[0], statement);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrapStatement(String sql, PreparedStatement statement) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return wrap(PreparedStatement.class, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (capturing && (name.startsWith("execute") || name.equals("addBatch"))) {
+                captured.add(new CapturedStatement(sql, new TreeMap<>(parameters)));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementCapture.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    record CapturedStatement(String sql, Map<Integer, Object> parameters) {}
+
+    record Explained(String plan, long rowsScanned) {}
+}
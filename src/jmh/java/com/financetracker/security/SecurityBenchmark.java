@@ -0,0 +1,73 @@
+package com.financetracker.security;
+
+import com.financetracker.model.Role;
+import com.financetracker.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request authentication costs. validateTokenCached is what a returning client pays; validateTokenVerified
+// runs the full signature check every time because that provider's verified-token cache holds nothing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private static final String SECRET = "myVerySecureSecretKeyForHS512AlgorithmThatIsAtLeast64Characters123";
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider verifyingProvider;
+    private String token;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = provider(10000);
+        verifyingProvider = provider(0);
+
+        user = new User("benchmark", "benchmark@example.com", "{noop}password");
+        user.setId(42L);
+        user.setFirstName("Bench");
+        user.setRole(Role.USER);
+        token = cachingProvider.generateToken(UserPrincipal.create(user));
+    }
+
+    private static JwtTokenProvider provider(int verifiedCacheMaxSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86400000);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", verifiedCacheMaxSize);
+        ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+        provider.init();
+        return provider;
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachingProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenVerified() {
+        return verifyingProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public UserPrincipal userPrincipalCreate() {
+        return UserPrincipal.create(user);
+    }
+}
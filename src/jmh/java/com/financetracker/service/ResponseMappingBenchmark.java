@@ -0,0 +1,129 @@
+package com.financetracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financetracker.dto.ExpenseResponse;
+import com.financetracker.dto.IncomeDTO;
+import com.financetracker.model.Category;
+import com.financetracker.model.Expense;
+import com.financetracker.model.Income;
+import com.financetracker.model.IncomeCategory;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.IncomeCategoryRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO mapping and the JSON a list endpoint writes. The services are built by hand around a
+// category catalog loaded from stub repositories, so no Spring context or database is involved. The list
+// size parameter lives on ResponseList, so the single-entity benchmarks run once rather than once per size.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private static final int CATEGORIES = 12;
+
+    private ExpenseService expenseService;
+    private IncomeService incomeService;
+    private ObjectMapper objectMapper;
+    private List<Category> categories;
+    private Expense expense;
+    private Income income;
+
+    @Setup
+    public void setUp() {
+        // Configured like Boot's auto-configured mapper: ISO dates rather than timestamp arrays
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        categories = new ArrayList<>();
+        List<IncomeCategory> incomeCategories = new ArrayList<>();
+        for (long id = 1; id <= CATEGORIES; id++) {
+            Category category = new Category("Category " + id, "Description " + id, "icon-" + id, "#00000" + (id % 10));
+            category.setId(id);
+            categories.add(category);
+            IncomeCategory incomeCategory = new IncomeCategory("Income " + id, "Description " + id, "icon-" + id, "#00000" + (id % 10));
+            incomeCategory.setId(id);
+            incomeCategories.add(incomeCategory);
+        }
+        CategoryRepository categoryRepository = Mockito.mock(CategoryRepository.class);
+        Mockito.when(categoryRepository.findAll()).thenReturn(categories);
+        IncomeCategoryRepository incomeCategoryRepository = Mockito.mock(IncomeCategoryRepository.class);
+        Mockito.when(incomeCategoryRepository.findAllByOrderByName()).thenReturn(incomeCategories);
+
+        CategoryCatalog catalog = new CategoryCatalog();
+        ReflectionTestUtils.setField(catalog, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(catalog, "incomeCategoryRepository", incomeCategoryRepository);
+        ReflectionTestUtils.setField(catalog, "objectMapper", objectMapper);
+        catalog.reloadCategories();
+        catalog.reloadIncomeCategories();
+
+        expenseService = new ExpenseService();
+        ReflectionTestUtils.setField(expenseService, "categoryCatalog", catalog);
+        incomeService = new IncomeService();
+        ReflectionTestUtils.setField(incomeService, "categoryCatalog", catalog);
+
+        expense = new Expense(new BigDecimal("42.50"), "Groceries", categories.get(3), null);
+        expense.setId(1L);
+        expense.setNotes("Weekly shop");
+        income = new Income(new BigDecimal("2500.00"), "Salary", incomeCategories.get(0), null);
+        income.setId(1L);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ResponseList {
+
+        @Param({"50", "1000"})
+        private int listSize;
+
+        private List<ExpenseResponse> responses;
+
+        @Setup
+        public void setUp(ResponseMappingBenchmark mapping) {
+            responses = new ArrayList<>(listSize);
+            LocalDateTime date = LocalDateTime.of(2024, 1, 1, 12, 0);
+            for (int i = 0; i < listSize; i++) {
+                Expense item = new Expense(BigDecimal.valueOf(1000 + i, 2), "Expense " + i,
+                    mapping.categories.get(i % CATEGORIES), null);
+                item.setId((long) i + 1);
+                item.setExpenseDate(date.plusHours(i));
+                responses.add(mapping.expenseService.convertToResponse(item));
+            }
+        }
+    }
+
+    @Benchmark
+    public ExpenseResponse expenseConvertToResponse() {
+        return expenseService.convertToResponse(expense);
+    }
+
+    @Benchmark
+    public IncomeDTO incomeConvertToDTO() {
+        return incomeService.convertToDTO(income);
+    }
+
+    @Benchmark
+    public byte[] expenseResponseListToJson(ResponseList list) throws Exception {
+        return objectMapper.writeValueAsBytes(list.responses);
+    }
+}
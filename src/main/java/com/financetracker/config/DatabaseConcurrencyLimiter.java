@@ -0,0 +1,111 @@
+package com.financetracker.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// With virtual threads there is no Tomcat thread limit in front of the database any more, so thousands of
+// requests can queue inside Hikari's connection wait at once. This puts a fair semaphore sized to the pool in
+// front of getConnection(): callers park cheaply in arrival order, and a permit goes back when the connection
+// is closed. Waiting longer than the pool's connection timeout fails the same way Hikari would. Enabled by
+// default together with spring.threads.virtual.enabled.
+@Component
+public class DatabaseConcurrencyLimiter implements BeanPostProcessor, MeterBinder {
+
+    @Value("${db.concurrency-limit.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean enabled;
+
+    // Defaults to the Hikari pool size so callers never wait on the pool itself
+    @Value("${db.concurrency-limit.permits:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int permits;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long timeoutMs;
+
+    private final LongAdder rejected = new LongAdder();
+    private Semaphore semaphore;
+    private DataSource target;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || target != null) {
+            return bean;
+        }
+        target = dataSource;
+        semaphore = new Semaphore(Math.max(1, permits), true);
+        return Proxy.newProxyInstance(DatabaseConcurrencyLimiter.class.getClassLoader(), new Class<?>[] {DataSource.class},
+            (proxy, method, args) -> method.getName().equals("getConnection")
+                ? limitedConnection(method, args)
+                : invoke(dataSource, method, args));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (semaphore == null) {
+            return;
+        }
+        Gauge.builder("db.concurrency.available", semaphore, Semaphore::availablePermits)
+            .description("Database access permits not currently held").register(registry);
+        Gauge.builder("db.concurrency.waiting", semaphore, Semaphore::getQueueLength)
+            .description("Threads waiting for a database access permit").register(registry);
+        FunctionCounter.builder("db.concurrency.rejected", rejected, LongAdder::sum)
+            .description("Waits for a database access permit that timed out").register(registry);
+    }
+
+    private Connection limitedConnection(Method method, Object[] args) throws Throwable {
+        try {
+            if (!semaphore.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new SQLTransientConnectionException("No database access permit within " + timeoutMs + " ms ("
+                    + semaphore.getQueueLength() + " waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database access permit", e);
+        }
+        Connection connection;
+        try {
+            connection = (Connection) invoke(target, method, args);
+        } catch (Throwable e) {
+            semaphore.release();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(DatabaseConcurrencyLimiter.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, (proxy, connectionMethod, connectionArgs) -> {
+                if (connectionMethod.getName().equals("close")) {
+                    try {
+                        return invoke(connection, connectionMethod, connectionArgs);
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            semaphore.release();
+                        }
+                    }
+                }
+                return invoke(connection, connectionMethod, connectionArgs);
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
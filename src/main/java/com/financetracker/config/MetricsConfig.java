@@ -0,0 +1,59 @@
+package com.financetracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.financetracker.security.PrincipalCache;
+import com.financetracker.security.RateLimiter;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Predicate;
+
+// Hikari, Hibernate, JVM and HTTP metrics come from Boot's auto-configuration; this adds method timings
+// for classes annotated with @Timed and exposes the in-process caches and rate limiter.
+@Configuration
+public class MetricsConfig {
+
+    // Methods returning a CompletionStage are skipped: they time the task on their own pool themselves, where
+    // the aspect would fold queue wait into the series
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        Predicate<ProceedingJoinPoint> async = joinPoint -> joinPoint.getSignature() instanceof MethodSignature signature
+            && CompletionStage.class.isAssignableFrom(signature.getReturnType());
+        return new TimedAspect(registry, async);
+    }
+
+    // Named after Micrometer's cache conventions, so hit rate is cache_gets{result="hit"} over all gets.
+    // The verified-token cache registers the same meters itself, next to its validation timers.
+    @Bean
+    public MeterBinder principalCacheMetrics(PrincipalCache principalCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", principalCache, PrincipalCache::getHits)
+                .tag("cache", "principal").tag("result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", principalCache, PrincipalCache::getMisses)
+                .tag("cache", "principal").tag("result", "miss").register(registry);
+            Gauge.builder("cache.size", principalCache, PrincipalCache::getSize)
+                .tag("cache", "principal").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimiter rateLimiter) {
+        return registry -> {
+            for (RateLimiter.Route route : rateLimiter.getRoutes()) {
+                FunctionCounter.builder("rate.limit.requests", route, r -> r.allowed().sum())
+                    .tag("route", route.pattern()).tag("outcome", "allowed").register(registry);
+                FunctionCounter.builder("rate.limit.requests", route, r -> r.rejected().sum())
+                    .tag("route", route.pattern()).tag("outcome", "rejected").register(registry);
+            }
+            Gauge.builder("rate.limit.buckets", rateLimiter, RateLimiter::getActiveBuckets).register(registry);
+        };
+    }
+}
@@ -0,0 +1,387 @@
+package com.financetracker.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Times every statement that goes through the application's DataSource, Hibernate and JdbcTemplate alike.
+// Executions over the threshold are filed under their normalised SQL (literals and IN lists folded to "?"),
+// keeping the slowest max-statements of them together with the Java types bound to their parameters, and
+// the latest recent-size executions go into a ring buffer. The first time a statement turns up slow, its
+// EXPLAIN plan is fetched on a background thread with the same bound values. Only the types of the values
+// are kept. Timing covers execution up to the first result, not reading the rows.
+@Component
+public class SlowQueryRecorder implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_SHAPES = 5;
+
+    @Value("${sql.slow-query.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sql.slow-query.threshold-ms:100}")
+    private long thresholdMs;
+
+    @Value("${sql.slow-query.max-statements:50}")
+    private int maxStatements;
+
+    @Value("${sql.slow-query.recent-size:100}")
+    private int recentSize;
+
+    @Value("${sql.slow-query.explain:true}")
+    private boolean explain;
+
+    private final Map<String, StatementStats> statements = new HashMap<>();
+    private final LongAdder timed = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final AtomicLong recentCursor = new AtomicLong();
+    private AtomicReferenceArray<SlowExecution> recent;
+    private ThreadPoolExecutor explainExecutor;
+    private long thresholdNanos;
+    private DataSource target;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || target != null) {
+            return bean;
+        }
+        target = dataSource;
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        recent = new AtomicReferenceArray<>(Math.max(1, recentSize));
+        // One thread and a short queue: plans are a diagnostic nicety, dropping some under load is fine
+        explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+        return wrap(DataSource.class, dataSource, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (explainExecutor != null) {
+            explainExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return target != null;
+    }
+
+    // Slowest statements first, then the most recent slow executions
+    public Map<String, Object> getReport() {
+        List<StatementStats> slowest;
+        synchronized (statements) {
+            slowest = new ArrayList<>(statements.values());
+        }
+        slowest.sort(Comparator.comparingLong(StatementStats::getMaxNanos).reversed());
+
+        List<Map<String, Object>> statementRows = new ArrayList<>();
+        for (StatementStats stats : slowest) {
+            statementRows.add(stats.toMap());
+        }
+
+        List<Map<String, Object>> recentRows = new ArrayList<>();
+        if (recent != null) {
+            long cursor = recentCursor.get();
+            for (long i = cursor - 1; i >= Math.max(0, cursor - recent.length()); i--) {
+                SlowExecution execution = recent.get((int) (i % recent.length()));
+                if (execution != null) {
+                    recentRows.add(execution.toMap());
+                }
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", isEnabled());
+        report.put("thresholdMs", thresholdMs);
+        report.put("timedStatements", timed.sum());
+        report.put("slowStatements", slow.sum());
+        report.put("statements", statementRows);
+        report.put("recent", recentRows);
+        return report;
+    }
+
+    public void reset() {
+        synchronized (statements) {
+            statements.clear();
+        }
+        if (recent != null) {
+            for (int i = 0; i < recent.length(); i++) {
+                recent.set(i, null);
+            }
+        }
+        timed.reset();
+        slow.reset();
+    }
+
+    // Folds literals so the same query with other values lands on one entry
+    private static String normalise(String sql) {
+        String normalised = COMMENT.matcher(sql).replaceAll(" ");
+        normalised = STRING_LITERAL.matcher(normalised).replaceAll("?");
+        normalised = NUMBER_LITERAL.matcher(normalised).replaceAll("?");
+        normalised = IN_LIST.matcher(normalised).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalised).replaceAll(" ").trim();
+    }
+
+    private void record(String sql, Map<Integer, Object> parameters, long nanos) {
+        timed.increment();
+        if (nanos < thresholdNanos) {
+            return;
+        }
+        slow.increment();
+        String normalised = normalise(sql);
+        String shape = shapeOf(parameters);
+        recent.set((int) (recentCursor.getAndIncrement() % recent.length()),
+            new SlowExecution(normalised, shape, nanos, LocalDateTime.now(), Thread.currentThread().getName()));
+
+        StatementStats stats;
+        boolean firstSighting = false;
+        synchronized (statements) {
+            stats = statements.get(normalised);
+            if (stats == null) {
+                if (statements.size() >= Math.max(1, maxStatements) && !evictFasterThan(nanos)) {
+                    return;
+                }
+                stats = new StatementStats(normalised);
+                statements.put(normalised, stats);
+                firstSighting = true;
+            }
+            stats.record(nanos, shape);
+        }
+        if (firstSighting && explain) {
+            StatementStats explained = stats;
+            Map<Integer, Object> values = new TreeMap<>(parameters);
+            explainExecutor.execute(() -> explained.setPlan(explainPlan(sql, values)));
+        }
+    }
+
+    // Makes room by dropping the entry whose slowest run is quicker than this one; caller holds the lock
+    private boolean evictFasterThan(long nanos) {
+        StatementStats fastest = null;
+        for (StatementStats stats : statements.values()) {
+            if (fastest == null || stats.getMaxNanos() < fastest.getMaxNanos()) {
+                fastest = stats;
+            }
+        }
+        if (fastest == null || fastest.getMaxNanos() >= nanos) {
+            return false;
+        }
+        statements.remove(fastest.sql);
+        return true;
+    }
+
+    // Plain EXPLAIN never runs the statement, so updates and deletes are safe to explain as well
+    private String explainPlan(String sql, Map<Integer, Object> parameters) {
+        String verb = sql.stripLeading().split("\\s", 2)[0].toLowerCase(Locale.ROOT);
+        if (!Set.of("select", "with", "update", "delete", "insert").contains(verb)) {
+            return null;
+        }
+        try (Connection connection = target.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    if (plan.length() > 0) {
+                        plan.append('\n');
+                    }
+                    plan.append(rows.getString(1));
+                }
+            }
+            return plan.toString();
+        } catch (Exception e) {
+            logger.debug("Could not explain {}: {}", sql, e.getMessage());
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static String shapeOf(Map<Integer, Object> parameters) {
+        if (parameters.isEmpty()) {
+            return "()";
+        }
+        StringBuilder shape = new StringBuilder("(");
+        int expected = 1;
+        for (Map.Entry<Integer, Object> parameter : new TreeMap<>(parameters).entrySet()) {
+            for (; expected < parameter.getKey(); expected++) {
+                shape.append("?, ");
+            }
+            Object value = parameter.getValue();
+            shape.append(value == null ? "null" : value.getClass().getSimpleName()).append(", ");
+            expected++;
+        }
+        shape.setLength(shape.length() - 2);
+        return shape.append(')').toString();
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return wrap(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement) {
+                return result;
+            }
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return wrapPreparedStatement((String) args[0], statement);
+            }
+            if (method.getName().equals("createStatement") && result instanceof Statement statement) {
+                return wrapStatement(statement);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrapPreparedStatement(String sql, PreparedStatement statement) {
+        Map<Integer, Object> parameters = new HashMap<>();
+        return wrap(PreparedStatement.class, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute")) {
+                // execute(String) on a prepared statement runs that SQL, not the prepared one
+                boolean adHoc = args != null && args.length > 0 && args[0] instanceof String;
+                long started = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    record(adHoc ? (String) args[0] : sql, adHoc ? Map.of() : parameters, System.nanoTime() - started);
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private Statement wrapStatement(Statement statement) {
+        return wrap(Statement.class, statement, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute") && args != null && args.length > 0 && args[0] instanceof String sql) {
+                long started = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    record(sql, Map.of(), System.nanoTime() - started);
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SlowQueryRecorder.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class StatementStats {
+        private final String sql;
+        private final Set<String> shapes = new LinkedHashSet<>();
+        private final LocalDateTime firstSeen = LocalDateTime.now();
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private LocalDateTime lastSeen;
+        private volatile String plan;
+
+        private StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        private synchronized void record(long nanos, String shape) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            lastSeen = LocalDateTime.now();
+            if (shapes.size() < MAX_SHAPES) {
+                shapes.add(shape);
+            }
+        }
+
+        private synchronized long getMaxNanos() {
+            return maxNanos;
+        }
+
+        private void setPlan(String plan) {
+            this.plan = plan;
+        }
+
+        private synchronized Map<String, Object> toMap() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("sql", sql);
+            row.put("count", count);
+            row.put("maxMs", toMillis(maxNanos));
+            row.put("avgMs", count > 0 ? toMillis(totalNanos / count) : 0.0);
+            row.put("totalMs", toMillis(totalNanos));
+            row.put("parameterShapes", new ArrayList<>(shapes));
+            row.put("firstSeen", firstSeen);
+            row.put("lastSeen", lastSeen);
+            row.put("plan", plan);
+            return row;
+        }
+    }
+
+    private record SlowExecution(String sql, String parameterShape, long nanos, LocalDateTime at, String thread) {
+        private Map<String, Object> toMap() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("sql", sql);
+            row.put("parameterShape", parameterShape);
+            row.put("durationMs", toMillis(nanos));
+            row.put("at", at);
+            row.put("thread", thread);
+            return row;
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
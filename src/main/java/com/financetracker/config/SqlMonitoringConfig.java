@@ -0,0 +1,60 @@
+package com.financetracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Wires SqlStatementCounter into Hibernate and opens one counting scope per HTTP request. The filter is
+// ordered ahead of the security chain so statements issued while authenticating are counted as well.
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Value("${sql.monitor.enabled:true}")
+    private boolean enabled;
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> sqlStatementCountingFilter(SqlStatementCounter sqlStatementCounter,
+                                                                                  MeterRegistry meterRegistry) {
+        DistributionSummary perRequest = DistributionSummary.builder("sql.statements.per.request")
+            .description("SQL statements Hibernate issued while serving one HTTP request")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                sqlStatementCounter.start();
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    SqlStatementCounter.Scope scope = sqlStatementCounter.stop(request.getMethod() + " " + request.getRequestURI());
+                    perRequest.record(scope.getCount());
+                }
+            }
+        };
+
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
@@ -0,0 +1,121 @@
+package com.financetracker.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Counts the SQL statements Hibernate prepares on the current thread between start() and stop(). The
+// request filter opens one scope per HTTP request; tests can open their own to pin how many statements a
+// code path may issue. When one statement repeats past the repeat threshold
+// (the usual N+1 shape) the repository method and the first application frame that triggered it are kept,
+// so the warning points at the offending call. Statements sent through JdbcTemplate are not seen here.
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementCounter.class);
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    @Value("${sql.monitor.warn-threshold:50}")
+    private int warnThreshold;
+
+    @Value("${sql.monitor.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.record(sql, repeatThreshold);
+        }
+        return sql;
+    }
+
+    public void start() {
+        current.set(new Scope());
+    }
+
+    // Ends the current scope and returns what it saw; logs a warning for statement-heavy scopes
+    public Scope stop(String label) {
+        Scope scope = current.get();
+        current.remove();
+        if (scope == null) {
+            return new Scope();
+        }
+        if (scope.getCount() > warnThreshold || !scope.getRepeated().isEmpty()) {
+            StringBuilder message = new StringBuilder();
+            message.append(label).append(" issued ").append(scope.getCount()).append(" SQL statements");
+            scope.getRepeated().forEach((sql, origin) -> message.append("\n  ")
+                .append(scope.countOf(sql)).append("x ").append(origin).append(": ").append(sql));
+            logger.warn(message.toString());
+        }
+        return scope;
+    }
+
+    public int getStatementCount() {
+        Scope scope = current.get();
+        return scope != null ? scope.getCount() : 0;
+    }
+
+    // The repository method (Spring Data proxies show up as jdk.proxy frames) and the first application
+    // frame outside this package, e.g. "findByUserIdAndDate from DashboardController.getCalendarData:142"
+    private static String origin() {
+        return STACK_WALKER.walk(frames -> {
+            String repositoryMethod = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (repositoryMethod == null && className.contains("$Proxy")) {
+                    repositoryMethod = frame.getMethodName();
+                }
+                if (className.startsWith("com.financetracker.") && !className.startsWith("com.financetracker.config.")
+                        && !className.contains("$$")) {
+                    String site = className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName()
+                        + ":" + frame.getLineNumber();
+                    return Optional.ofNullable(repositoryMethod).map(method -> method + " from " + site)
+                        .orElse("lazy load or query from " + site);
+                }
+            }
+            return "unknown origin";
+        });
+    }
+
+    public static final class Scope {
+        private final List<String> statements = new ArrayList<>();
+        private final Map<String, Integer> counts = new LinkedHashMap<>();
+        private final Map<String, String> repeated = new LinkedHashMap<>();
+
+        private void record(String sql, int repeatThreshold) {
+            statements.add(sql);
+            int count = counts.merge(sql, 1, Integer::sum);
+            if (count == repeatThreshold) {
+                repeated.put(sql, origin());
+            }
+        }
+
+        public int getCount() {
+            return statements.size();
+        }
+
+        public List<String> getStatements() {
+            return statements;
+        }
+
+        public int countOf(String sql) {
+            return counts.getOrDefault(sql, 0);
+        }
+
+        // Statements that reached the repeat threshold, with where they were issued from
+        public Map<String, String> getRepeated() {
+            return repeated;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.financetracker.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Listens for JFR's jdk.VirtualThreadPinned event: a virtual thread that blocked while it could not unmount
+// (inside synchronized or a native frame) and so held its carrier thread. Each pinning is filed under the first
+// application frame on its stack; the first one from a new site is logged with the stack, and the totals are
+// served at /api/admin/virtual-threads/pinning. Runs by default whenever virtual threads are enabled.
+@Component
+public class VirtualThreadPinningMonitor implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 20;
+
+    @Value("${virtual-threads.pinning.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean enabled;
+
+    @Value("${virtual-threads.pinning.threshold-ms:20}")
+    private long thresholdMs;
+
+    @Value("${virtual-threads.pinning.max-sites:50}")
+    private int maxSites;
+
+    private final Map<String, PinningSite> sites = new ConcurrentHashMap<>();
+    private final LongAdder events = new LongAdder();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jvm.threads.virtual.pinned", events, LongAdder::sum)
+            .description("Virtual threads that blocked while pinned to their carrier for longer than the threshold")
+            .register(registry);
+    }
+
+    // Sites that pinned for the longest in total come first
+    public Map<String, Object> getReport() {
+        List<PinningSite> sorted = new ArrayList<>(sites.values());
+        sorted.sort(Comparator.comparingLong((PinningSite site) -> site.totalNanos.sum()).reversed());
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (PinningSite site : sorted) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("site", site.site);
+            row.put("count", site.count.sum());
+            row.put("totalMs", site.totalNanos.sum() / 1_000_000.0);
+            row.put("maxMs", site.maxNanos.get() / 1_000_000.0);
+            row.put("stack", site.stack);
+            rows.add(row);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", stream != null);
+        report.put("thresholdMs", thresholdMs);
+        report.put("events", events.sum());
+        report.put("sites", rows);
+        return report;
+    }
+
+    private void record(RecordedEvent event) {
+        events.increment();
+        List<String> stack = frames(event.getStackTrace());
+        String siteName = stack.stream().filter(frame -> frame.startsWith("com.financetracker."))
+            .findFirst().orElse(stack.isEmpty() ? "unknown" : stack.get(0));
+        PinningSite site = sites.get(siteName);
+        if (site == null) {
+            if (sites.size() >= maxSites) {
+                return;
+            }
+            site = sites.computeIfAbsent(siteName, name -> {
+                logger.warn("Virtual thread pinned for {} ms at {}\n  {}", event.getDuration().toMillis(), name,
+                    String.join("\n  ", stack));
+                return new PinningSite(name, stack);
+            });
+        }
+        long nanos = event.getDuration().toNanos();
+        site.count.increment();
+        site.totalNanos.add(nanos);
+        site.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        List<String> frames = new ArrayList<>();
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (frames.size() == MAX_FRAMES) {
+                    break;
+                }
+                frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber());
+            }
+        }
+        return frames;
+    }
+
+    private static final class PinningSite {
+        private final String site;
+        private final List<String> stack;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private PinningSite(String site, List<String> stack) {
+            this.site = site;
+            this.stack = stack;
+        }
+    }
+}
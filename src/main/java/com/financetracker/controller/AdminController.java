@@ -1,24 +1,32 @@
 package com.financetracker.controller;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.financetracker.config.SlowQueryRecorder;
+import com.financetracker.config.VirtualThreadPinningMonitor;
+import com.financetracker.dto.BudgetResponse;
 import com.financetracker.model.Budget;
 import com.financetracker.model.Category;
 import com.financetracker.model.Expense;
 import com.financetracker.model.Income;
+import com.financetracker.model.Money;
 import com.financetracker.model.User;
 import com.financetracker.repository.BudgetRepository;
 import com.financetracker.repository.CategoryRepository;
@@ -26,10 +34,19 @@ import com.financetracker.repository.ExpenseRepository;
 import com.financetracker.repository.IncomeCategoryRepository;
 import com.financetracker.repository.IncomeRepository;
 import com.financetracker.repository.UserRepository;
+import com.financetracker.security.PrincipalCache;
+import com.financetracker.security.RateLimiter;
+import com.financetracker.security.TokenRevocationService;
+import com.financetracker.service.BudgetReconciliationService;
+import com.financetracker.service.BudgetRolloverService;
+import com.financetracker.service.BudgetService;
+import com.financetracker.service.RecurringTransactionService;
+import com.financetracker.service.TransactionSearchService;
 
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = "*", maxAge = 3600)
+@Timed(value = "finance.controller", histogram = true)
 public class AdminController {
 
     @Autowired
@@ -50,6 +67,36 @@ public class AdminController {
     @Autowired
     private IncomeCategoryRepository incomeCategoryRepository;
 
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private BudgetRolloverService budgetRolloverService;
+
+    @Autowired
+    private BudgetReconciliationService budgetReconciliationService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private SlowQueryRecorder slowQueryRecorder;
+
+    @Autowired
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
     // Get all users with statistics
     @GetMapping("/users")
     public ResponseEntity<List<Map<String, Object>>> getAllUsers() {
@@ -57,6 +104,11 @@ public class AdminController {
             List<User> users = userRepository.findAll();
             List<Map<String, Object>> userStats = new ArrayList<>();
 
+            // Totals for every user in three grouped queries rather than three per user
+            Map<Long, Object[]> expenseTotals = byUserId(expenseRepository.getTotalsByUser());
+            Map<Long, Object[]> incomeTotals = byUserId(incomeRepository.getTotalsByUser());
+            Map<Long, Object[]> budgetCounts = byUserId(budgetRepository.countActiveByUser());
+
             for (User user : users) {
                 Map<String, Object> stats = new HashMap<>();
                 stats.put("id", user.getId());
@@ -67,24 +119,18 @@ public class AdminController {
                 stats.put("createdAt", user.getCreatedAt());
                 
                 // Calculate user statistics
-                List<Expense> expenses = expenseRepository.findByUserOrderByExpenseDateDesc(user);
-                List<Income> incomes = incomeRepository.findByUserOrderByIncomeDateDesc(user);
-                List<Budget> budgets = budgetRepository.findByUserAndIsActive(user, true);
-                
-                double totalExpenses = expenses.stream()
-                    .mapToDouble(e -> e.getAmount().doubleValue())
-                    .sum();
-                    
-                double totalIncome = incomes.stream()
-                    .mapToDouble(i -> i.getAmount().doubleValue())
-                    .sum();
+                Object[] expenseRow = expenseTotals.get(user.getId());
+                Object[] incomeRow = incomeTotals.get(user.getId());
+                Object[] budgetRow = budgetCounts.get(user.getId());
+                long totalExpenses = expenseRow != null ? Money.toMinor((BigDecimal) expenseRow[1]) : 0L;
+                long totalIncome = incomeRow != null ? Money.toMinor((BigDecimal) incomeRow[1]) : 0L;
                 
-                stats.put("totalExpenses", totalExpenses);
-                stats.put("totalIncome", totalIncome);
-                stats.put("balance", totalIncome - totalExpenses);
-                stats.put("expenseCount", expenses.size());
-                stats.put("incomeCount", incomes.size());
-                stats.put("budgetCount", budgets.size());
+                stats.put("totalExpenses", Money.toBigDecimal(totalExpenses));
+                stats.put("totalIncome", Money.toBigDecimal(totalIncome));
+                stats.put("balance", Money.toBigDecimal(Money.subtract(totalIncome, totalExpenses)));
+                stats.put("expenseCount", expenseRow != null ? ((Long) expenseRow[2]).intValue() : 0);
+                stats.put("incomeCount", incomeRow != null ? ((Long) incomeRow[2]).intValue() : 0);
+                stats.put("budgetCount", budgetRow != null ? ((Long) budgetRow[1]).intValue() : 0);
                 
                 userStats.add(stats);
             }
@@ -95,6 +141,14 @@ public class AdminController {
         }
     }
 
+    private static Map<Long, Object[]> byUserId(List<Object[]> rows) {
+        Map<Long, Object[]> byUser = new HashMap<>();
+        for (Object[] row : rows) {
+            byUser.put((Long) row[0], row);
+        }
+        return byUser;
+    }
+
     // Get user details by ID
     @GetMapping("/users/{userId}")
     public ResponseEntity<Map<String, Object>> getUserDetails(@PathVariable Long userId) {
@@ -146,17 +200,19 @@ public class AdminController {
             List<Expense> allExpenses = expenseRepository.findAll();
             List<Income> allIncomes = incomeRepository.findAll();
             
-            double systemTotalExpenses = allExpenses.stream()
-                .mapToDouble(e -> e.getAmount().doubleValue())
-                .sum();
+            long systemTotalExpenses = 0L;
+            for (Expense expense : allExpenses) {
+                systemTotalExpenses = Money.add(systemTotalExpenses, Money.toMinor(expense.getAmount()));
+            }
                 
-            double systemTotalIncome = allIncomes.stream()
-                .mapToDouble(i -> i.getAmount().doubleValue())
-                .sum();
+            long systemTotalIncome = 0L;
+            for (Income income : allIncomes) {
+                systemTotalIncome = Money.add(systemTotalIncome, Money.toMinor(income.getAmount()));
+            }
                 
-            stats.put("systemTotalExpenses", systemTotalExpenses);
-            stats.put("systemTotalIncome", systemTotalIncome);
-            stats.put("systemBalance", systemTotalIncome - systemTotalExpenses);
+            stats.put("systemTotalExpenses", Money.toBigDecimal(systemTotalExpenses));
+            stats.put("systemTotalIncome", Money.toBigDecimal(systemTotalIncome));
+            stats.put("systemBalance", Money.toBigDecimal(Money.subtract(systemTotalIncome, systemTotalExpenses)));
             
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
@@ -182,12 +238,13 @@ public class AdminController {
                 List<Expense> expenses = expenseRepository.findByCategory(category);
                 List<Budget> budgets = budgetRepository.findByCategory(category);
                 
-                double totalSpent = expenses.stream()
-                    .mapToDouble(e -> e.getAmount().doubleValue())
-                    .sum();
+                long totalSpent = 0L;
+                for (Expense expense : expenses) {
+                    totalSpent = Money.add(totalSpent, Money.toMinor(expense.getAmount()));
+                }
                     
                 categoryUsage.put("expenseCount", expenses.size());
-                categoryUsage.put("totalSpent", totalSpent);
+                categoryUsage.put("totalSpent", Money.toBigDecimal(totalSpent));
                 categoryUsage.put("budgetCount", budgets.size());
                 
                 usage.add(categoryUsage);
@@ -199,6 +256,120 @@ public class AdminController {
         }
     }
 
+    // Rebuild the transaction search index from scratch
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSearchIndex() {
+        try {
+            long started = System.currentTimeMillis();
+            int documents = transactionSearchService.rebuild();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("indexedDocuments", documents);
+            response.put("durationMs", System.currentTimeMillis() - started);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Budgets across all users that reached their notification threshold
+    @GetMapping("/budgets/nearing-limit")
+    public ResponseEntity<List<BudgetResponse>> getBudgetsNearingLimit() {
+        try {
+            return ResponseEntity.ok(budgetService.getAllBudgetsNearingLimit());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Budgets across all users that went over their limit
+    @GetMapping("/budgets/exceeded")
+    public ResponseEntity<List<BudgetResponse>> getExceededBudgets() {
+        try {
+            return ResponseEntity.ok(budgetService.getAllExceededBudgets());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Roll ended budget periods over immediately instead of waiting for the nightly job
+    @PostMapping("/budgets/rollover")
+    public ResponseEntity<BudgetRolloverService.RolloverResult> rollOverBudgets() {
+        try {
+            return ResponseEntity.ok(budgetRolloverService.rollOver(LocalDateTime.now()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Recompute budget spending from expenses and repair any drift
+    @PostMapping("/budgets/reconcile")
+    public ResponseEntity<BudgetReconciliationService.ReconciliationResult> reconcileBudgets() {
+        try {
+            return ResponseEntity.ok(budgetReconciliationService.reconcile());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Post recurring occurrences that have come due without waiting for the hourly job
+    @PostMapping("/recurring/post")
+    public ResponseEntity<RecurringTransactionService.PostingResult> postRecurringTransactions() {
+        try {
+            return ResponseEntity.ok(recurringTransactionService.postDue(LocalDateTime.now()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Per-route allowed/rejected counts and the number of live rate-limit buckets
+    @GetMapping("/rate-limits")
+    public ResponseEntity<Map<String, Object>> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimiter.getStats());
+    }
+
+    // Slowest normalised SQL statements with parameter shapes and plans, plus the latest slow executions
+    @GetMapping("/slow-queries")
+    public ResponseEntity<Map<String, Object>> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryRecorder.getReport());
+    }
+
+    // Start collecting slow queries afresh, e.g. after a deploy or an index change
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<Map<String, String>> resetSlowQueries() {
+        slowQueryRecorder.reset();
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Slow query log cleared");
+        return ResponseEntity.ok(response);
+    }
+
+    // Where virtual threads blocked while pinned to their carrier, longest total first
+    @GetMapping("/virtual-threads/pinning")
+    public ResponseEntity<Map<String, Object>> getVirtualThreadPinning() {
+        return ResponseEntity.ok(virtualThreadPinningMonitor.getReport());
+    }
+
+    // Sign a user out everywhere by revoking every token issued to them so far
+    @PostMapping("/users/{userId}/revoke-tokens")
+    public ResponseEntity<Map<String, String>> revokeUserTokens(@PathVariable Long userId) {
+        try {
+            if (userId == null || !userRepository.existsById(userId)) {
+                return ResponseEntity.notFound().build();
+            }
+
+            tokenRevocationService.revokeAllForUser(userId);
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "User tokens revoked successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to revoke tokens: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     // Delete user (admin only)
     @DeleteMapping("/users/{userId}")
     public ResponseEntity<Map<String, String>> deleteUser(@PathVariable Long userId) {
@@ -208,6 +379,8 @@ public class AdminController {
             }
             
             userRepository.deleteById(userId);
+            principalCache.evict(userId);
+            tokenRevocationService.revokeAllForUser(userId);
             
             Map<String, String> response = new HashMap<>();
             response.put("message", "User deleted successfully");
@@ -4,9 +4,15 @@ import com.financetracker.dto.*;
 import com.financetracker.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/auth")
@@ -15,11 +21,35 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    // Completes asynchronously, so the request thread is released while the password is checked
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        try {
+            return authService.authenticateUser(loginRequest)
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    return ResponseEntity.badRequest()
+                        .body(new MessageResponse("Error: " + cause.getMessage()));
+                });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: Too many sign-in attempts, please try again shortly")));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage())));
+        }
+    }
+
+    @PostMapping("/signout")
+    public ResponseEntity<?> signOut(@RequestHeader(value = "Authorization", required = false) String authorization) {
         try {
-            JwtResponse jwtResponse = authService.authenticateUser(loginRequest);
-            return ResponseEntity.ok(jwtResponse);
+            if (authorization == null || !authorization.startsWith("Bearer ")) {
+                return ResponseEntity.badRequest().body(new MessageResponse("Error: No token provided"));
+            }
+            authService.signOut(authorization.substring(7));
+            return ResponseEntity.ok(new MessageResponse("Signed out successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new MessageResponse("Error: " + e.getMessage()));
@@ -2,12 +2,17 @@ package com.financetracker.controller;
 
 import com.financetracker.dto.BudgetRequest;
 import com.financetracker.dto.BudgetResponse;
+import com.financetracker.security.UserPrincipal;
+import com.financetracker.service.BudgetAlertService;
 import com.financetracker.service.BudgetService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -20,6 +25,9 @@ public class BudgetController {
     @Autowired
     private BudgetService budgetService;
 
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
     @PostMapping
     public ResponseEntity<BudgetResponse> createBudget(@Valid @RequestBody BudgetRequest request) {
         try {
@@ -60,6 +68,12 @@ public class BudgetController {
         }
     }
 
+    @GetMapping(value = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBudgetAlerts(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return budgetAlertService.subscribe(userPrincipal.getId());
+    }
+
     @PutMapping("/{budgetId}")
     public ResponseEntity<BudgetResponse> updateBudget(@PathVariable Long budgetId, 
                                                       @Valid @RequestBody BudgetRequest request) {
@@ -1,12 +1,16 @@
 package com.financetracker.controller;
 
-import com.financetracker.model.Category;
-import com.financetracker.repository.CategoryRepository;
+import com.financetracker.dto.CategoryDTO;
+import com.financetracker.service.CategoryCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -14,26 +18,38 @@ import java.util.List;
 public class CategoryController {
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private CategoryCatalog categoryCatalog;
+
+    @Value("${catalog.cache-max-age-seconds:300}")
+    private long cacheMaxAgeSeconds;
 
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<byte[]> getAllCategories(WebRequest webRequest) {
         try {
-            List<Category> categories = categoryRepository.findAll();
-            return ResponseEntity.ok(categories);
+            CategoryCatalog.Snapshot<CategoryDTO> snapshot = categoryCatalog.getCategories();
+            if (webRequest.checkNotModified(snapshot.getEtag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(cacheMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .eTag(snapshot.getEtag())
+                .body(snapshot.getBody());
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/{categoryId}")
-    public ResponseEntity<Category> getCategoryById(@PathVariable Long categoryId) {
+    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long categoryId) {
         try {
-            Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+            CategoryDTO category = categoryCatalog.getCategory(categoryId);
+            if (category == null) {
+                throw new RuntimeException("Category not found");
+            }
             return ResponseEntity.ok(category);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+}
@@ -2,14 +2,17 @@ package com.financetracker.controller;
 
 import com.financetracker.dto.ExpenseResponse;
 import com.financetracker.dto.IncomeDTO;
+import com.financetracker.model.Money;
 import com.financetracker.security.UserPrincipal;
 import com.financetracker.service.ExpenseService;
 import com.financetracker.service.IncomeService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -21,6 +24,7 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/dashboard")
 @CrossOrigin(origins = "*", maxAge = 3600)
+@Timed(value = "finance.controller", histogram = true)
 public class DashboardController {
     
     @Autowired
@@ -30,6 +34,7 @@ public class DashboardController {
     private IncomeService incomeService;
     
     @GetMapping("/daily-summary")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getDailySummary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             Authentication authentication) {
@@ -65,6 +70,7 @@ public class DashboardController {
     }
     
     @GetMapping("/monthly-overview")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getMonthlyOverview(
             @RequestParam int year,
             @RequestParam int month,
@@ -107,6 +113,7 @@ public class DashboardController {
     }
     
     @GetMapping("/calendar-data")
+    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getCalendarData(
             @RequestParam int year,
             @RequestParam int month,
@@ -121,10 +128,12 @@ public class DashboardController {
             
             Map<String, Object> calendarData = new HashMap<>();
             
-            // Get data for each day of the month
+            // Totals for the whole month up front, then filled in day by day
+            Map<LocalDate, BigDecimal> incomeByDay = incomeService.getDailyIncomeTotals(userId, startDate, endDate);
+            Map<LocalDate, BigDecimal> expensesByDay = expenseService.getDailyExpenseTotals(userId, startDate, endDate);
             for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-                BigDecimal dailyIncome = incomeService.getDailyIncome(userId, date);
-                BigDecimal dailyExpenses = expenseService.getDailyExpensesByUserId(userId, date);
+                BigDecimal dailyIncome = incomeByDay.getOrDefault(date, Money.toBigDecimal(0L));
+                BigDecimal dailyExpenses = expensesByDay.getOrDefault(date, Money.toBigDecimal(0L));
                 BigDecimal netBalance = dailyIncome.subtract(dailyExpenses);
                 
                 Map<String, Object> dayData = new HashMap<>();
@@ -2,6 +2,8 @@ package com.financetracker.controller;
 
 import com.financetracker.dto.ExpenseRequest;
 import com.financetracker.dto.ExpenseResponse;
+import com.financetracker.dto.ExpenseSearchRequest;
+import com.financetracker.dto.ExpenseSearchResponse;
 import com.financetracker.service.ExpenseService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,6 +66,16 @@ public class ExpenseController {
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ExpenseSearchResponse> searchExpenses(ExpenseSearchRequest request) {
+        try {
+            ExpenseSearchResponse response = expenseService.searchExpenses(request);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{expenseId}")
     public ResponseEntity<ExpenseResponse> updateExpense(@PathVariable Long expenseId, 
                                                         @Valid @RequestBody ExpenseRequest request) {
@@ -1,14 +1,17 @@
 package com.financetracker.controller;
 
 import com.financetracker.dto.IncomeCategoryDTO;
+import com.financetracker.service.CategoryCatalog;
 import com.financetracker.service.IncomeCategoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -19,11 +22,22 @@ public class IncomeCategoryController {
     @Autowired
     private IncomeCategoryService incomeCategoryService;
     
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+    
     @GetMapping
-    public ResponseEntity<List<IncomeCategoryDTO>> getAllCategories() {
+    public ResponseEntity<byte[]> getAllCategories(WebRequest webRequest) {
         try {
-            List<IncomeCategoryDTO> categories = incomeCategoryService.getAllCategories();
-            return ResponseEntity.ok(categories);
+            CategoryCatalog.Snapshot<IncomeCategoryDTO> snapshot = categoryCatalog.getIncomeCategories();
+            if (webRequest.checkNotModified(snapshot.getEtag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    // Income categories can be edited, so clients revalidate every time; unchanged lists cost a 304
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(snapshot.getEtag())
+                    .body(snapshot.getBody());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,68 @@
+package com.financetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class BudgetAlert {
+    public enum Level {
+        NORMAL, THRESHOLD_REACHED, EXCEEDED
+    }
+
+    private Long userId;
+    private Long budgetId;
+    private String budgetName;
+    private Long categoryId;
+    private Level previousLevel;
+    private Level level;
+    private BigDecimal budgetLimit;
+    private BigDecimal spentAmount;
+    private Double percentageSpent;
+    private LocalDateTime occurredAt;
+
+    public BudgetAlert() {}
+
+    public BudgetAlert(Long userId, Long budgetId, String budgetName, Long categoryId, Level previousLevel,
+                       Level level, BigDecimal budgetLimit, BigDecimal spentAmount, Double percentageSpent) {
+        this.userId = userId;
+        this.budgetId = budgetId;
+        this.budgetName = budgetName;
+        this.categoryId = categoryId;
+        this.previousLevel = previousLevel;
+        this.level = level;
+        this.budgetLimit = budgetLimit;
+        this.spentAmount = spentAmount;
+        this.percentageSpent = percentageSpent;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getBudgetId() { return budgetId; }
+    public void setBudgetId(Long budgetId) { this.budgetId = budgetId; }
+
+    public String getBudgetName() { return budgetName; }
+    public void setBudgetName(String budgetName) { this.budgetName = budgetName; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public Level getPreviousLevel() { return previousLevel; }
+    public void setPreviousLevel(Level previousLevel) { this.previousLevel = previousLevel; }
+
+    public Level getLevel() { return level; }
+    public void setLevel(Level level) { this.level = level; }
+
+    public BigDecimal getBudgetLimit() { return budgetLimit; }
+    public void setBudgetLimit(BigDecimal budgetLimit) { this.budgetLimit = budgetLimit; }
+
+    public BigDecimal getSpentAmount() { return spentAmount; }
+    public void setSpentAmount(BigDecimal spentAmount) { this.spentAmount = spentAmount; }
+
+    public Double getPercentageSpent() { return percentageSpent; }
+    public void setPercentageSpent(Double percentageSpent) { this.percentageSpent = percentageSpent; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
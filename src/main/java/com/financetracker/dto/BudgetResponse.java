@@ -1,6 +1,9 @@
 package com.financetracker.dto;
 
+import com.financetracker.model.Money;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 public class BudgetResponse {
@@ -19,6 +22,12 @@ public class BudgetResponse {
     private Boolean isActive;
     private Boolean isExceeded;
     private Boolean isThresholdReached;
+    private String status;
+    private Long userId;
+    private Double dailyBurnRate;
+    private Double dailyBurnRateStdDev;
+    private BigDecimal projectedSpend;
+    private LocalDate projectedLimitDate;
     private LocalDateTime createdAt;
 
     public BudgetResponse() {}
@@ -36,11 +45,7 @@ public class BudgetResponse {
     }
 
     private Double calculatePercentageSpent() {
-        if (budgetLimit.compareTo(BigDecimal.ZERO) == 0) {
-            return 0.0;
-        }
-        return spentAmount.divide(budgetLimit, 4, java.math.RoundingMode.HALF_UP)
-                         .multiply(BigDecimal.valueOf(100)).doubleValue();
+        return Money.percentage(Money.toMinor(spentAmount), Money.toMinor(budgetLimit));
     }
 
     // Getters and Setters
@@ -89,6 +94,24 @@ public class BudgetResponse {
     public Boolean getIsThresholdReached() { return isThresholdReached; }
     public void setIsThresholdReached(Boolean isThresholdReached) { this.isThresholdReached = isThresholdReached; }
 
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Double getDailyBurnRate() { return dailyBurnRate; }
+    public void setDailyBurnRate(Double dailyBurnRate) { this.dailyBurnRate = dailyBurnRate; }
+
+    public Double getDailyBurnRateStdDev() { return dailyBurnRateStdDev; }
+    public void setDailyBurnRateStdDev(Double dailyBurnRateStdDev) { this.dailyBurnRateStdDev = dailyBurnRateStdDev; }
+
+    public BigDecimal getProjectedSpend() { return projectedSpend; }
+    public void setProjectedSpend(BigDecimal projectedSpend) { this.projectedSpend = projectedSpend; }
+
+    public LocalDate getProjectedLimitDate() { return projectedLimitDate; }
+    public void setProjectedLimitDate(LocalDate projectedLimitDate) { this.projectedLimitDate = projectedLimitDate; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.financetracker.dto;
+
+public class CategoryDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private String iconName;
+    private String colorCode;
+    
+    // Constructors
+    public CategoryDTO() {}
+    
+    public CategoryDTO(Long id, String name, String description, String iconName, String colorCode) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.iconName = iconName;
+        this.colorCode = colorCode;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public String getIconName() { return iconName; }
+    public void setIconName(String iconName) { this.iconName = iconName; }
+    
+    public String getColorCode() { return colorCode; }
+    public void setColorCode(String colorCode) { this.colorCode = colorCode; }
+}
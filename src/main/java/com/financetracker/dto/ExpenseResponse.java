@@ -15,6 +15,8 @@ public class ExpenseResponse {
     private String notes;
     private String recurringType;
     private LocalDateTime createdAt;
+    private Long recurringSourceId;
+    private boolean projected;
 
     public ExpenseResponse() {}
 
@@ -61,4 +63,10 @@ public class ExpenseResponse {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
-}
\ No newline at end of file
+
+    public Long getRecurringSourceId() { return recurringSourceId; }
+    public void setRecurringSourceId(Long recurringSourceId) { this.recurringSourceId = recurringSourceId; }
+
+    public boolean isProjected() { return projected; }
+    public void setProjected(boolean projected) { this.projected = projected; }
+}
@@ -0,0 +1,35 @@
+package com.financetracker.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ExpenseSearchResponse {
+    private List<ExpenseSearchRow> items;
+    private boolean hasMore;
+    private LocalDateTime nextAfterDate;
+    private Long nextAfterId;
+
+    public ExpenseSearchResponse() {}
+
+    public ExpenseSearchResponse(List<ExpenseSearchRow> items, boolean hasMore) {
+        this.items = items;
+        this.hasMore = hasMore;
+        if (hasMore && !items.isEmpty()) {
+            ExpenseSearchRow last = items.get(items.size() - 1);
+            this.nextAfterDate = last.getExpenseDate();
+            this.nextAfterId = last.getId();
+        }
+    }
+
+    public List<ExpenseSearchRow> getItems() { return items; }
+    public void setItems(List<ExpenseSearchRow> items) { this.items = items; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public LocalDateTime getNextAfterDate() { return nextAfterDate; }
+    public void setNextAfterDate(LocalDateTime nextAfterDate) { this.nextAfterDate = nextAfterDate; }
+
+    public Long getNextAfterId() { return nextAfterId; }
+    public void setNextAfterId(Long nextAfterId) { this.nextAfterId = nextAfterId; }
+}
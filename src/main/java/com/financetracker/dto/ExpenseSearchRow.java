@@ -0,0 +1,68 @@
+package com.financetracker.dto;
+
+import com.financetracker.model.Expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class ExpenseSearchRow {
+    private Long id;
+    private BigDecimal amount;
+    private String description;
+    private LocalDateTime expenseDate;
+    private Long categoryId;
+    private String categoryName;
+    private Long accountId;
+    private String accountName;
+    private String notes;
+    private String recurringType;
+
+    public ExpenseSearchRow() {}
+
+    // Used as a JPA constructor expression, so the argument order must match the select list
+    public ExpenseSearchRow(Long id, BigDecimal amount, String description, LocalDateTime expenseDate,
+                            Long categoryId, String categoryName, Long accountId, String accountName,
+                            String notes, Expense.RecurringType recurringType) {
+        this.id = id;
+        this.amount = amount;
+        this.description = description;
+        this.expenseDate = expenseDate;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.accountId = accountId;
+        this.accountName = accountName;
+        this.notes = notes;
+        this.recurringType = recurringType != null ? recurringType.name() : null;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public LocalDateTime getExpenseDate() { return expenseDate; }
+    public void setExpenseDate(LocalDateTime expenseDate) { this.expenseDate = expenseDate; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public String getAccountName() { return accountName; }
+    public void setAccountName(String accountName) { this.accountName = accountName; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public String getRecurringType() { return recurringType; }
+    public void setRecurringType(String recurringType) { this.recurringType = recurringType; }
+}
@@ -26,6 +26,9 @@ public class IncomeDTO {
     private String categoryName;
     private String categoryIcon;
     private String categoryColor;
+    private String recurringType = "NONE";
+    private Long recurringSourceId;
+    private boolean projected;
     
     // Constructors
     public IncomeDTO() {}
@@ -61,4 +64,13 @@ public class IncomeDTO {
     
     public String getCategoryColor() { return categoryColor; }
     public void setCategoryColor(String categoryColor) { this.categoryColor = categoryColor; }
-}
\ No newline at end of file
+    
+    public String getRecurringType() { return recurringType; }
+    public void setRecurringType(String recurringType) { this.recurringType = recurringType; }
+    
+    public Long getRecurringSourceId() { return recurringSourceId; }
+    public void setRecurringSourceId(Long recurringSourceId) { this.recurringSourceId = recurringSourceId; }
+    
+    public boolean isProjected() { return projected; }
+    public void setProjected(boolean projected) { this.projected = projected; }
+}
@@ -0,0 +1,54 @@
+package com.financetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class TransactionSearchHit {
+    private String type;
+    private Long id;
+    private BigDecimal amount;
+    private String description;
+    private String notes;
+    private String categoryName;
+    private LocalDateTime date;
+    private double score;
+
+    public TransactionSearchHit() {}
+
+    public TransactionSearchHit(String type, Long id, BigDecimal amount, String description, String notes,
+                                String categoryName, LocalDateTime date, double score) {
+        this.type = type;
+        this.id = id;
+        this.amount = amount;
+        this.description = description;
+        this.notes = notes;
+        this.categoryName = categoryName;
+        this.date = date;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+    public LocalDateTime getDate() { return date; }
+    public void setDate(LocalDateTime date) { this.date = date; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
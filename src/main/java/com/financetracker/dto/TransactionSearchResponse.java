@@ -0,0 +1,31 @@
+package com.financetracker.dto;
+
+import java.util.List;
+
+public class TransactionSearchResponse {
+    private List<TransactionSearchHit> items;
+    private int page;
+    private int size;
+    private int totalHits;
+
+    public TransactionSearchResponse() {}
+
+    public TransactionSearchResponse(List<TransactionSearchHit> items, int page, int size, int totalHits) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalHits = totalHits;
+    }
+
+    public List<TransactionSearchHit> getItems() { return items; }
+    public void setItems(List<TransactionSearchHit> items) { this.items = items; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public int getTotalHits() { return totalHits; }
+    public void setTotalHits(int totalHits) { this.totalHits = totalHits; }
+}
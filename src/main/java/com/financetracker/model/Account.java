@@ -22,8 +22,9 @@ public class Account {
     @Column(name = "account_type")
     private AccountType accountType;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "balance", precision = 19, scale = 2)
-    private BigDecimal balance = BigDecimal.ZERO;
+    private Money balance = Money.ZERO;
     
     @Column(name = "currency_code")
     private String currencyCode = "USD";
@@ -75,11 +76,11 @@ public class Account {
     
     // Helper method to update balance
     public void addToBalance(BigDecimal amount) {
-        this.balance = this.balance.add(amount);
+        this.balance = Money.ofMinor(Money.add(balance.getMinorUnits(), Money.toMinor(amount)));
     }
     
     public void subtractFromBalance(BigDecimal amount) {
-        this.balance = this.balance.subtract(amount);
+        this.balance = Money.ofMinor(Money.subtract(balance.getMinorUnits(), Money.toMinor(amount)));
     }
     
     // Getters and Setters
@@ -92,8 +93,8 @@ public class Account {
     public AccountType getAccountType() { return accountType; }
     public void setAccountType(AccountType accountType) { this.accountType = accountType; }
     
-    public BigDecimal getBalance() { return balance; }
-    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public BigDecimal getBalance() { return balance.toBigDecimal(); }
+    public void setBalance(BigDecimal balance) { this.balance = Money.of(balance); }
     
     public String getCurrencyCode() { return currencyCode; }
     public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
@@ -5,10 +5,18 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 
 @Entity
-@Table(name = "budgets")
+@Table(name = "budgets", indexes = {
+    @Index(name = "idx_budgets_active_end", columnList = "is_active, period_type, end_date"),
+    @Index(name = "idx_budgets_user_category", columnList = "user_id, category_id, is_active"),
+    @Index(name = "idx_budgets_user_status", columnList = "user_id, is_active, status"),
+    @Index(name = "idx_budgets_status", columnList = "status, is_active")
+})
 public class Budget {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -57,8 +65,69 @@ public class Budget {
     @Column(name = "period_type")
     private PeriodType periodType = PeriodType.MONTHLY;
     
+    // Derived from budgetLimit, spentAmount and notificationThreshold so limit lookups can use an index
+    @Column(name = "threshold_amount", precision = 19, scale = 2)
+    private BigDecimal thresholdAmount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Status status = Status.ON_TRACK;
+    
+    public enum Status {
+        ON_TRACK, NEARING_LIMIT, EXCEEDED
+    }
+    
+    // Minor-unit copies of budgetLimit and spentAmount so the helpers below do exact long arithmetic
+    @Transient
+    private long limitMinor;
+    
+    @Transient
+    private long spentMinor;
+    
     public enum PeriodType {
-        WEEKLY, MONTHLY, QUARTERLY, YEARLY, CUSTOM
+        WEEKLY, MONTHLY, QUARTERLY, YEARLY, CUSTOM;
+        
+        // Start of the period containing the given instant, or null for CUSTOM
+        public LocalDateTime periodStart(LocalDateTime at) {
+            LocalDateTime day = at.truncatedTo(ChronoUnit.DAYS);
+            switch (this) {
+                case WEEKLY:
+                    return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTHLY:
+                    return day.withDayOfMonth(1);
+                case QUARTERLY:
+                    return day.withDayOfMonth(1).withMonth(((at.getMonthValue() - 1) / 3) * 3 + 1);
+                case YEARLY:
+                    return day.withDayOfYear(1);
+                default:
+                    return null;
+            }
+        }
+        
+        // Last instant of the period containing the given instant, or null for CUSTOM
+        public LocalDateTime periodEnd(LocalDateTime at) {
+            LocalDateTime start = periodStart(at);
+            if (start == null) {
+                return null;
+            }
+            LocalDateTime nextStart;
+            switch (this) {
+                case WEEKLY:
+                    nextStart = start.plusWeeks(1);
+                    break;
+                case MONTHLY:
+                    nextStart = start.plusMonths(1);
+                    break;
+                case QUARTERLY:
+                    nextStart = start.plusMonths(3);
+                    break;
+                default:
+                    nextStart = start.plusYears(1);
+                    break;
+            }
+            // Microsecond precision so the bound survives TIMESTAMP(6) columns on H2 and PostgreSQL
+            return nextStart.minus(1, ChronoUnit.MICROS);
+        }
     }
     
     // Constructors
@@ -71,37 +140,64 @@ public class Budget {
         this();
         this.name = name;
         this.budgetLimit = budgetLimit;
+        this.limitMinor = Money.toMinor(budgetLimit);
         this.category = category;
         this.user = user;
+        refreshDerivedColumns();
+    }
+    
+    @PostLoad
+    public void postLoad() {
+        limitMinor = Money.toMinor(budgetLimit);
+        spentMinor = Money.toMinor(spentAmount);
+    }
+    
+    @PrePersist
+    public void prePersist() {
+        refreshDerivedColumns();
     }
     
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        refreshDerivedColumns();
+    }
+    
+    // Keeps threshold_amount and status consistent with the columns they are derived from
+    private void refreshDerivedColumns() {
+        if (budgetLimit == null || spentAmount == null) {
+            return;
+        }
+        int threshold = notificationThreshold != null ? notificationThreshold : 100;
+        long thresholdMinor = Money.percentOf(limitMinor, threshold);
+        thresholdAmount = Money.toBigDecimal(thresholdMinor);
+        if (spentMinor > limitMinor) {
+            status = Status.EXCEEDED;
+        } else if (spentMinor >= thresholdMinor) {
+            status = Status.NEARING_LIMIT;
+        } else {
+            status = Status.ON_TRACK;
+        }
     }
     
     // Helper method to calculate remaining budget
     public BigDecimal getRemainingAmount() {
-        return budgetLimit.subtract(spentAmount);
+        return Money.toBigDecimal(Money.subtract(limitMinor, spentMinor));
     }
     
     // Helper method to calculate percentage spent
     public Double getPercentageSpent() {
-        if (budgetLimit.compareTo(BigDecimal.ZERO) == 0) {
-            return 0.0;
-        }
-        return spentAmount.divide(budgetLimit, 4, java.math.RoundingMode.HALF_UP)
-                         .multiply(BigDecimal.valueOf(100)).doubleValue();
+        return Money.percentage(spentMinor, limitMinor);
     }
     
     // Helper method to check if budget limit is exceeded
     public Boolean isExceeded() {
-        return spentAmount.compareTo(budgetLimit) > 0;
+        return spentMinor > limitMinor;
     }
     
     // Helper method to check if notification threshold is reached
     public Boolean isThresholdReached() {
-        return getPercentageSpent() >= notificationThreshold;
+        return Money.percentage(spentMinor, limitMinor) >= notificationThreshold;
     }
     
     // Getters and Setters
@@ -112,10 +208,18 @@ public class Budget {
     public void setName(String name) { this.name = name; }
     
     public BigDecimal getBudgetLimit() { return budgetLimit; }
-    public void setBudgetLimit(BigDecimal budgetLimit) { this.budgetLimit = budgetLimit; }
+    public void setBudgetLimit(BigDecimal budgetLimit) {
+        this.budgetLimit = budgetLimit;
+        this.limitMinor = Money.toMinor(budgetLimit);
+        refreshDerivedColumns();
+    }
     
     public BigDecimal getSpentAmount() { return spentAmount; }
-    public void setSpentAmount(BigDecimal spentAmount) { this.spentAmount = spentAmount; }
+    public void setSpentAmount(BigDecimal spentAmount) {
+        this.spentAmount = spentAmount;
+        this.spentMinor = Money.toMinor(spentAmount);
+        refreshDerivedColumns();
+    }
     
     public Category getCategory() { return category; }
     public void setCategory(Category category) { this.category = category; }
@@ -136,11 +240,18 @@ public class Budget {
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
     public Integer getNotificationThreshold() { return notificationThreshold; }
-    public void setNotificationThreshold(Integer notificationThreshold) { this.notificationThreshold = notificationThreshold; }
+    public void setNotificationThreshold(Integer notificationThreshold) {
+        this.notificationThreshold = notificationThreshold;
+        refreshDerivedColumns();
+    }
     
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
     
     public PeriodType getPeriodType() { return periodType; }
     public void setPeriodType(PeriodType periodType) { this.periodType = periodType; }
+    
+    public BigDecimal getThresholdAmount() { return thresholdAmount; }
+    
+    public Status getStatus() { return status; }
 }
\ No newline at end of file
@@ -8,7 +8,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+    @Index(name = "idx_expenses_user_date", columnList = "user_id, expense_date, id"),
+    @Index(name = "idx_expenses_user_category_date", columnList = "user_id, category_id, expense_date"),
+    @Index(name = "idx_expenses_user_account", columnList = "user_id, account_id"),
+    @Index(name = "idx_expenses_user_amount", columnList = "user_id, amount"),
+    @Index(name = "idx_expenses_recurrence_due", columnList = "recurring_type, recurrence_posted_through")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_expenses_series_occurrence", columnNames = {"recurring_source_id", "expense_date"})
+})
 public class Expense {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -51,6 +59,14 @@ public class Expense {
     @Enumerated(EnumType.STRING)
     private RecurringType recurringType = RecurringType.NONE;
     
+    // Set on occurrences posted from a recurring series; points at the series' original row
+    @Column(name = "recurring_source_id")
+    private Long recurringSourceId;
+    
+    // Date of the last occurrence stored for this series, the high-water mark for posting
+    @Column(name = "recurrence_posted_through")
+    private LocalDateTime recurrencePostedThrough;
+    
     public enum RecurringType {
         NONE, DAILY, WEEKLY, MONTHLY, YEARLY
     }
@@ -70,9 +86,26 @@ public class Expense {
         this.user = user;
     }
     
+    @PrePersist
+    public void prePersist() {
+        syncRecurrence();
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        syncRecurrence();
+    }
+    
+    // The row itself is the first occurrence of its series, so the mark never sits before it. Turning
+    // recurrence off keeps the mark: occurrences already posted stay posted if it is turned back on.
+    private void syncRecurrence() {
+        if (recurringType == null || recurringType == RecurringType.NONE) {
+            return;
+        }
+        if (recurrencePostedThrough == null || recurrencePostedThrough.isBefore(expenseDate)) {
+            recurrencePostedThrough = expenseDate;
+        }
     }
     
     // Getters and Setters
@@ -108,4 +141,10 @@ public class Expense {
     
     public RecurringType getRecurringType() { return recurringType; }
     public void setRecurringType(RecurringType recurringType) { this.recurringType = recurringType; }
+    
+    public Long getRecurringSourceId() { return recurringSourceId; }
+    public void setRecurringSourceId(Long recurringSourceId) { this.recurringSourceId = recurringSourceId; }
+    
+    public LocalDateTime getRecurrencePostedThrough() { return recurrencePostedThrough; }
+    public void setRecurrencePostedThrough(LocalDateTime recurrencePostedThrough) { this.recurrencePostedThrough = recurrencePostedThrough; }
 }
\ No newline at end of file
@@ -8,7 +8,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "incomes")
+@Table(name = "incomes", indexes = {
+    @Index(name = "idx_incomes_recurrence_due", columnList = "recurring_type, recurrence_posted_through")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_incomes_series_occurrence", columnNames = {"recurring_source_id", "income_date"})
+})
 public class Income {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -51,6 +55,14 @@ public class Income {
     @Enumerated(EnumType.STRING)
     private RecurringType recurringType = RecurringType.NONE;
     
+    // Set on occurrences posted from a recurring series; points at the series' original row
+    @Column(name = "recurring_source_id")
+    private Long recurringSourceId;
+    
+    // Date of the last occurrence stored for this series, the high-water mark for posting
+    @Column(name = "recurrence_posted_through")
+    private LocalDateTime recurrencePostedThrough;
+    
     public enum RecurringType {
         NONE, DAILY, WEEKLY, MONTHLY, YEARLY
     }
@@ -70,9 +82,26 @@ public class Income {
         this.user = user;
     }
     
+    @PrePersist
+    public void prePersist() {
+        syncRecurrence();
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        syncRecurrence();
+    }
+    
+    // The row itself is the first occurrence of its series, so the mark never sits before it. Turning
+    // recurrence off keeps the mark: occurrences already posted stay posted if it is turned back on.
+    private void syncRecurrence() {
+        if (recurringType == null || recurringType == RecurringType.NONE) {
+            return;
+        }
+        if (recurrencePostedThrough == null || recurrencePostedThrough.isBefore(incomeDate)) {
+            recurrencePostedThrough = incomeDate;
+        }
     }
     
     // Getters and Setters
@@ -108,4 +137,10 @@ public class Income {
     
     public RecurringType getRecurringType() { return recurringType; }
     public void setRecurringType(RecurringType recurringType) { this.recurringType = recurringType; }
+    
+    public Long getRecurringSourceId() { return recurringSourceId; }
+    public void setRecurringSourceId(Long recurringSourceId) { this.recurringSourceId = recurringSourceId; }
+    
+    public LocalDateTime getRecurrencePostedThrough() { return recurrencePostedThrough; }
+    public void setRecurrencePostedThrough(LocalDateTime recurrencePostedThrough) { this.recurrencePostedThrough = recurrencePostedThrough; }
 }
\ No newline at end of file
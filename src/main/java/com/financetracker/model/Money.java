@@ -0,0 +1,107 @@
+package com.financetracker.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Exact monetary amount held as a long count of minor units (cents).
+// The static long-based helpers let hot paths add, subtract and compare without allocating;
+// BigDecimal only appears at the persistence and API boundaries.
+public final class Money implements Comparable<Money> {
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return ofMinor(toMinor(amount));
+    }
+
+    // Converts a decimal amount to minor units, rounding anything below a cent half-up
+    public static long toMinor(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        BigDecimal scaled = amount.scale() == SCALE ? amount : amount.setScale(SCALE, RoundingMode.HALF_UP);
+        return scaled.unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    // Percentage of part in whole rounded to two decimals, e.g. 12.35 for 12.345%
+    public static double percentage(long part, long whole) {
+        if (whole == 0L) {
+            return 0.0;
+        }
+        return Math.round(part * 10000.0 / whole) / 100.0;
+    }
+
+    // Amount corresponding to the given whole percentage of this amount, rounded half-up to a cent
+    public static long percentOf(long minorUnits, int percent) {
+        long product = Math.multiplyExact(minorUnits, (long) percent);
+        return Math.floorDiv(product + (product >= 0 ? 50 : -50), 100);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(add(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(subtract(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(minorUnits);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0L;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+        return minorUnits == ((Money) o).minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,156 @@
+package com.financetracker.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Entity
+@Table(name = "spending_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_spending_stats_user_category", columnNames = {"user_id", "category_id"})
+})
+public class SpendingStats {
+    // Beyond this many idle days the decayed weight of older spending is negligible
+    private static final int MAX_IDLE_DAYS_FOLDED = 90;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+    
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+    
+    // Exponentially weighted mean and variance of completed daily totals
+    @Column(name = "daily_mean")
+    private double dailyMean;
+    
+    @Column(name = "daily_variance")
+    private double dailyVariance;
+    
+    @Column(name = "observed_days")
+    private long observedDays;
+    
+    // Running total for the day that is still open
+    @Column(name = "current_day")
+    private LocalDate currentDay;
+    
+    @Column(name = "current_day_total")
+    private double currentDayTotal;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
+    // Constructors
+    public SpendingStats() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public SpendingStats(User user, Category category) {
+        this();
+        this.user = user;
+        this.category = category;
+    }
+    
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // O(1) update: close any finished days into the weighted statistics, then add to the open day. Spending
+    // dated on a day that has already been folded adds to the mean with the weight that day carries now.
+    public void record(LocalDate day, double amount, double alpha) {
+        if (currentDay == null || !day.isBefore(currentDay)) {
+            rollTo(day, alpha);
+            currentDayTotal += amount;
+            return;
+        }
+        long laterFolds = ChronoUnit.DAYS.between(day, currentDay) - 1;
+        if (observedDays > laterFolds && laterFolds < MAX_IDLE_DAYS_FOLDED) {
+            dailyMean += alpha * Math.pow(1 - alpha, laterFolds) * amount;
+        }
+    }
+    
+    // A detached copy rolled forward to the given day, so readers see idle days since the last expense
+    public SpendingStats rolledTo(LocalDate day, double alpha) {
+        SpendingStats copy = new SpendingStats();
+        copy.dailyMean = dailyMean;
+        copy.dailyVariance = dailyVariance;
+        copy.observedDays = observedDays;
+        copy.currentDay = currentDay;
+        copy.currentDayTotal = currentDayTotal;
+        copy.rollTo(day, alpha);
+        return copy;
+    }
+    
+    // Edits and deletions only adjust the day that is still open; folded days are left to decay
+    public void correct(LocalDate day, double delta) {
+        if (day.equals(currentDay)) {
+            currentDayTotal = Math.max(0.0, currentDayTotal + delta);
+        }
+    }
+    
+    // Folds completed days (including idle days with zero spending) into the mean and variance
+    public void rollTo(LocalDate day, double alpha) {
+        if (currentDay == null) {
+            currentDay = day;
+            return;
+        }
+        if (!day.isAfter(currentDay)) {
+            return;
+        }
+        fold(currentDayTotal, alpha);
+        long idleDays = Math.min(ChronoUnit.DAYS.between(currentDay, day) - 1, MAX_IDLE_DAYS_FOLDED);
+        for (long i = 0; i < idleDays; i++) {
+            fold(0.0, alpha);
+        }
+        currentDay = day;
+        currentDayTotal = 0.0;
+    }
+    
+    private void fold(double value, double alpha) {
+        if (observedDays == 0) {
+            dailyMean = value;
+            dailyVariance = 0.0;
+        } else {
+            double diff = value - dailyMean;
+            double increment = alpha * diff;
+            dailyMean += increment;
+            dailyVariance = (1 - alpha) * (dailyVariance + diff * increment);
+        }
+        observedDays++;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
+    
+    public double getDailyMean() { return dailyMean; }
+    public double getDailyVariance() { return dailyVariance; }
+    public long getObservedDays() { return observedDays; }
+    
+    public LocalDate getCurrentDay() { return currentDay; }
+    public double getCurrentDayTotal() { return currentDayTotal; }
+    
+    public Long getVersion() { return version; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
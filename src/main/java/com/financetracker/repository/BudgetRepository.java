@@ -1,10 +1,13 @@
 package com.financetracker.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,6 +23,10 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     Optional<Budget> findByUserAndCategoryAndIsActiveTrue(User user, Category category);
     
     List<Budget> findByUserAndIsActive(User user, boolean isActive);
+
+    // One row per user with active budgets: [userId, COUNT]
+    @Query("SELECT b.user.id, COUNT(b) FROM Budget b WHERE b.isActive = true GROUP BY b.user.id")
+    List<Object[]> countActiveByUser();
     List<Budget> findByCategory(Category category);
     
     @Query("SELECT b FROM Budget b WHERE b.user = :user AND b.isActive = true AND " +
@@ -28,11 +35,65 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findActiveBudgetsByUserAndDate(@Param("user") User user, 
                                                @Param("currentDate") LocalDateTime currentDate);
     
-    @Query("SELECT b FROM Budget b WHERE b.user = :user AND b.isActive = true AND " +
-           "b.spentAmount >= (b.budgetLimit * b.notificationThreshold / 100)")
-    List<Budget> findBudgetsNearingLimit(@Param("user") User user);
+    // Status is maintained by Budget itself, so these are index range scans on (user_id, is_active, status)
+    @Query("SELECT b FROM Budget b WHERE b.user = :user AND b.isActive = true AND b.status IN :statuses")
+    List<Budget> findActiveBudgetsByUserAndStatus(@Param("user") User user,
+                                                  @Param("statuses") Collection<Budget.Status> statuses);
     
-    @Query("SELECT b FROM Budget b WHERE b.user = :user AND b.isActive = true AND " +
-           "b.spentAmount > b.budgetLimit")
-    List<Budget> findExceededBudgets(@Param("user") User user);
+    default List<Budget> findBudgetsNearingLimit(User user) {
+        return findActiveBudgetsByUserAndStatus(user, EnumSet.of(Budget.Status.NEARING_LIMIT, Budget.Status.EXCEEDED));
+    }
+    
+    default List<Budget> findExceededBudgets(User user) {
+        return findActiveBudgetsByUserAndStatus(user, EnumSet.of(Budget.Status.EXCEEDED));
+    }
+    
+    @Query("SELECT b FROM Budget b WHERE b.status IN :statuses AND b.isActive = true")
+    List<Budget> findActiveBudgetsByStatus(@Param("statuses") Collection<Budget.Status> statuses);
+    
+    // Re-derives status after bulk updates that bypass the entity
+    @Modifying
+    @Query("UPDATE Budget b SET b.status = CASE " +
+           "WHEN b.spentAmount > b.budgetLimit THEN :exceeded " +
+           "WHEN b.spentAmount >= b.thresholdAmount THEN :nearingLimit " +
+           "ELSE :onTrack END " +
+           "WHERE b.user.id IN :userIds")
+    int refreshStatusForUsers(@Param("userIds") Collection<Long> userIds,
+                              @Param("exceeded") Budget.Status exceeded,
+                              @Param("nearingLimit") Budget.Status nearingLimit,
+                              @Param("onTrack") Budget.Status onTrack);
+    
+    @Query("SELECT DISTINCT b.user.id FROM Budget b WHERE b.isActive = true AND " +
+           "b.periodType IN :periodTypes AND b.endDate < :now")
+    List<Long> findUserIdsWithEndedPeriods(@Param("periodTypes") Collection<Budget.PeriodType> periodTypes,
+                                           @Param("now") LocalDateTime now);
+    
+    // Moves every ended budget of the given users to the new period and recomputes its spending in one statement
+    @Modifying
+    @Query("UPDATE Budget b SET " +
+           "b.spentAmount = COALESCE((SELECT SUM(e.amount) FROM Expense e WHERE e.user = b.user AND " +
+           "e.category = b.category AND e.expenseDate >= :periodStart AND e.expenseDate <= :periodEnd), 0), " +
+           "b.startDate = :periodStart, b.endDate = :periodEnd, b.updatedAt = :now " +
+           "WHERE b.user.id IN :userIds AND b.periodType = :periodType AND b.isActive = true AND b.endDate < :now")
+    int rollOverEndedBudgets(@Param("userIds") Collection<Long> userIds,
+                             @Param("periodType") Budget.PeriodType periodType,
+                             @Param("periodStart") LocalDateTime periodStart,
+                             @Param("periodEnd") LocalDateTime periodEnd,
+                             @Param("now") LocalDateTime now);
+    
+    @Query("SELECT MIN(b.user.id) FROM Budget b WHERE b.isActive = true")
+    Long findMinActiveBudgetUserId();
+    
+    @Query("SELECT MAX(b.user.id) FROM Budget b WHERE b.isActive = true")
+    Long findMaxActiveBudgetUserId();
+    
+    // Row layout: budgetId, stored spentAmount, actual spending within the budget's period
+    @Query("SELECT b.id, b.spentAmount, COALESCE(SUM(e.amount), 0) FROM Budget b " +
+           "LEFT JOIN Expense e ON e.user = b.user AND e.category = b.category " +
+           "AND (b.startDate IS NULL OR e.expenseDate >= b.startDate) " +
+           "AND (b.endDate IS NULL OR e.expenseDate <= b.endDate) " +
+           "WHERE b.isActive = true AND b.user.id >= :fromUserId AND b.user.id < :toUserId " +
+           "GROUP BY b.id, b.spentAmount")
+    List<Object[]> computeActualSpendingForUserRange(@Param("fromUserId") Long fromUserId,
+                                                     @Param("toUserId") Long toUserId);
 }
\ No newline at end of file
@@ -2,21 +2,39 @@ package com.financetracker.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 import com.financetracker.model.Category;
 import com.financetracker.model.Expense;
 import com.financetracker.model.User;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense>,
+                                           ExpenseRepositoryCustom {
+    // Accounts come in the same query; responses show the account name for every row
+    @EntityGraph(attributePaths = "account")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Expense> findByUserOrderByExpenseDateDesc(User user);
+
+    // One row per user with expenses: [userId, SUM(amount), COUNT]
+    @Query("SELECT e.user.id, SUM(e.amount), COUNT(e) FROM Expense e GROUP BY e.user.id")
+    List<Object[]> getTotalsByUser();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Expense> findByUserAndCategoryOrderByExpenseDateDesc(User user, Category category);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Expense> findByUserAndExpenseDateBetweenOrderByExpenseDateDesc(User user, LocalDateTime start, LocalDateTime end);
     
     @Query("SELECT e FROM Expense e WHERE e.user = :user AND e.expenseDate >= :startDate AND e.expenseDate <= :endDate")
@@ -40,21 +58,45 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
                                             @Param("startDate") LocalDateTime startDate, 
                                             @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND DATE(e.expenseDate) = :date")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND CAST(e.expenseDate AS LocalDate) = :date")
     List<Expense> findByUserIdAndDate(@Param("userId") Long userId, @Param("date") java.time.LocalDate date);
     
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND DATE(e.expenseDate) = :date")
+    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND CAST(e.expenseDate AS LocalDate) = :date")
     BigDecimal getDailyExpensesByUserId(@Param("userId") Long userId, @Param("date") java.time.LocalDate date);
     
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND DATE(e.expenseDate) BETWEEN :startDate AND :endDate")
+    // One row per day with expenses: [LocalDate, BigDecimal]
+    @Query("SELECT CAST(e.expenseDate AS LocalDate), SUM(e.amount) FROM Expense e WHERE e.user.id = :userId " +
+           "AND CAST(e.expenseDate AS LocalDate) BETWEEN :startDate AND :endDate GROUP BY CAST(e.expenseDate AS LocalDate)")
+    List<Object[]> getDailyExpenseTotalsByUserId(@Param("userId") Long userId,
+                                                 @Param("startDate") java.time.LocalDate startDate,
+                                                 @Param("endDate") java.time.LocalDate endDate);
+
+    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND CAST(e.expenseDate AS LocalDate) BETWEEN :startDate AND :endDate")
     BigDecimal getTotalExpensesByUserIdAndDateRange(@Param("userId") Long userId, 
                                                    @Param("startDate") java.time.LocalDate startDate, 
                                                    @Param("endDate") java.time.LocalDate endDate);
     
-    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND DATE(e.expenseDate) BETWEEN :startDate AND :endDate")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND CAST(e.expenseDate AS LocalDate) BETWEEN :startDate AND :endDate")
     List<Expense> findByUserIdAndDateBetween(@Param("userId") Long userId, 
                                            @Param("startDate") java.time.LocalDate startDate, 
                                            @Param("endDate") java.time.LocalDate endDate);
     
     List<Expense> findByCategory(Category category);
-}
\ No newline at end of file
+    
+    @Query("SELECT e.id, e.amount, e.description, e.notes, e.category.id, e.expenseDate FROM Expense e " +
+           "WHERE e.user.id = :userId AND e.id > :afterId ORDER BY e.id")
+    List<Object[]> findSearchDocumentsAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT e.id FROM Expense e WHERE e.recurringType = :type AND e.recurrencePostedThrough <= :dueBefore ORDER BY e.id")
+    List<Long> findRecurringIdsDue(@Param("type") Expense.RecurringType type, @Param("dueBefore") LocalDateTime dueBefore);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.recurringType <> :none AND e.expenseDate <= :until")
+    List<Expense> findRecurringSeriesByUserId(@Param("userId") Long userId, @Param("none") Expense.RecurringType none,
+                                         @Param("until") LocalDateTime until);
+    
+    @Query("SELECT e FROM Expense e WHERE e.recurringSourceId IN :sourceIds AND e.createdAt = :postedAt")
+    List<Expense> findPostedOccurrences(@Param("sourceIds") Collection<Long> sourceIds, @Param("postedAt") LocalDateTime postedAt);
+}
@@ -0,0 +1,12 @@
+package com.financetracker.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.financetracker.dto.ExpenseSearchRow;
+import com.financetracker.model.Expense;
+
+public interface ExpenseRepositoryCustom {
+    List<ExpenseSearchRow> searchRows(Specification<Expense> spec, int limit);
+}
@@ -0,0 +1,57 @@
+package com.financetracker.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.financetracker.dto.ExpenseSearchRow;
+import com.financetracker.model.Account;
+import com.financetracker.model.Category;
+import com.financetracker.model.Expense;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class ExpenseRepositoryImpl implements ExpenseRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ExpenseSearchRow> searchRows(Specification<Expense> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExpenseSearchRow> query = cb.createQuery(ExpenseSearchRow.class);
+        Root<Expense> root = query.from(Expense.class);
+        Join<Expense, Category> category = root.join("category");
+        Join<Expense, Account> account = root.join("account", JoinType.LEFT);
+
+        // Select only the columns the client needs instead of hydrating entities
+        query.select(cb.construct(ExpenseSearchRow.class,
+            root.get("id"),
+            root.get("amount"),
+            root.get("description"),
+            root.get("expenseDate"),
+            category.get("id"),
+            category.get("name"),
+            account.get("id"),
+            account.get("name"),
+            root.get("notes"),
+            root.get("recurringType")));
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(root.get("expenseDate")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
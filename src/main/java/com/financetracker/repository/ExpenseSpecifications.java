@@ -0,0 +1,76 @@
+package com.financetracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.financetracker.model.Expense;
+
+public final class ExpenseSpecifications {
+
+    private ExpenseSpecifications() {}
+
+    // Every filter returns null when its argument is absent so they can be chained with and()
+    public static Specification<Expense> belongsToUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Expense> dateFrom(LocalDateTime startDate) {
+        return startDate == null ? null
+            : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("expenseDate"), startDate);
+    }
+
+    public static Specification<Expense> dateTo(LocalDateTime endDate) {
+        return endDate == null ? null
+            : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("expenseDate"), endDate);
+    }
+
+    public static Specification<Expense> inCategories(Collection<Long> categoryIds) {
+        return categoryIds == null || categoryIds.isEmpty() ? null
+            : (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Expense> inAccounts(Collection<Long> accountIds) {
+        return accountIds == null || accountIds.isEmpty() ? null
+            : (root, query, cb) -> root.get("account").get("id").in(accountIds);
+    }
+
+    public static Specification<Expense> amountAtLeast(BigDecimal minAmount) {
+        return minAmount == null ? null
+            : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), minAmount);
+    }
+
+    public static Specification<Expense> amountAtMost(BigDecimal maxAmount) {
+        return maxAmount == null ? null
+            : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), maxAmount);
+    }
+
+    public static Specification<Expense> textContains(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        // The user's text is matched literally, so a % or _ in it doesn't act as a wildcard
+        String pattern = "%" + escapeLike(text.trim().toLowerCase()) + "%";
+        return (root, query, cb) -> cb.or(
+            cb.like(cb.lower(root.get("description")), pattern, '\\'),
+            cb.like(cb.lower(root.get("notes")), pattern, '\\')
+        );
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Keyset condition for ORDER BY expenseDate DESC, id DESC
+    public static Specification<Expense> after(LocalDateTime afterDate, Long afterId) {
+        if (afterDate == null || afterId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.get("expenseDate"), afterDate),
+            cb.and(cb.equal(root.get("expenseDate"), afterDate), cb.lessThan(root.get("id"), afterId))
+        );
+    }
+}
@@ -1,38 +1,74 @@
 package com.financetracker.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 import com.financetracker.model.Income;
 import com.financetracker.model.User;
 
 @Repository
 public interface IncomeRepository extends JpaRepository<Income, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Income> findByUserIdOrderByCreatedAtDesc(Long userId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Income> findByUserOrderByIncomeDateDesc(User user);
+
+    // One row per user with incomes: [userId, SUM(amount), COUNT]
+    @Query("SELECT i.user.id, SUM(i.amount), COUNT(i) FROM Income i GROUP BY i.user.id")
+    List<Object[]> getTotalsByUser();
     
-    @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND DATE(i.incomeDate) BETWEEN :startDate AND :endDate")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND CAST(i.incomeDate AS LocalDate) BETWEEN :startDate AND :endDate")
     List<Income> findByUserIdAndDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND DATE(i.incomeDate) = :date")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND CAST(i.incomeDate AS LocalDate) = :date")
     List<Income> findByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
     
     @Query("SELECT SUM(i.amount) FROM Income i WHERE i.user.id = :userId")
-    Double getTotalIncomeByUserId(@Param("userId") Long userId);
+    BigDecimal getTotalIncomeByUserId(@Param("userId") Long userId);
     
-    @Query("SELECT SUM(i.amount) FROM Income i WHERE i.user.id = :userId AND DATE(i.incomeDate) BETWEEN :startDate AND :endDate")
-    Double getTotalIncomeByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @Query("SELECT SUM(i.amount) FROM Income i WHERE i.user.id = :userId AND CAST(i.incomeDate AS LocalDate) BETWEEN :startDate AND :endDate")
+    BigDecimal getTotalIncomeByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT SUM(i.amount) FROM Income i WHERE i.user.id = :userId AND DATE(i.incomeDate) = :date")
-    Double getDailyIncomeByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
+    // One row per day with incomes: [LocalDate, BigDecimal]
+    @Query("SELECT CAST(i.incomeDate AS LocalDate), SUM(i.amount) FROM Income i WHERE i.user.id = :userId " +
+           "AND CAST(i.incomeDate AS LocalDate) BETWEEN :startDate AND :endDate GROUP BY CAST(i.incomeDate AS LocalDate)")
+    List<Object[]> getDailyIncomeTotalsByUserId(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT SUM(i.amount) FROM Income i WHERE i.user.id = :userId AND CAST(i.incomeDate AS LocalDate) = :date")
+    BigDecimal getDailyIncomeByUserIdAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
     
     @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND i.category.id = :categoryId ORDER BY i.createdAt DESC")
     List<Income> findByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
-}
\ No newline at end of file
+    
+    @Query("SELECT i.id, i.amount, i.description, i.notes, i.category.id, i.incomeDate FROM Income i " +
+           "WHERE i.user.id = :userId AND i.id > :afterId ORDER BY i.id")
+    List<Object[]> findSearchDocumentsAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT i.id FROM Income i WHERE i.recurringType = :type AND i.recurrencePostedThrough <= :dueBefore ORDER BY i.id")
+    List<Long> findRecurringIdsDue(@Param("type") Income.RecurringType type, @Param("dueBefore") LocalDateTime dueBefore);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND i.recurringType <> :none AND i.incomeDate <= :until")
+    List<Income> findRecurringSeriesByUserId(@Param("userId") Long userId, @Param("none") Income.RecurringType none,
+                                         @Param("until") LocalDateTime until);
+    
+    @Query("SELECT i FROM Income i WHERE i.recurringSourceId IN :sourceIds AND i.createdAt = :postedAt")
+    List<Income> findPostedOccurrences(@Param("sourceIds") Collection<Long> sourceIds, @Param("postedAt") LocalDateTime postedAt);
+}
@@ -0,0 +1,22 @@
+package com.financetracker.repository;
+
+import com.financetracker.model.SpendingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SpendingStatsRepository extends JpaRepository<SpendingStats, Long> {
+    Optional<SpendingStats> findByUserIdAndCategoryId(Long userId, Long categoryId);
+    List<SpendingStats> findByUserId(Long userId);
+
+    // Row lock held until the caller's transaction ends, so concurrent expenses in a category apply in turn
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SpendingStats s WHERE s.user.id = :userId AND s.category.id = :categoryId")
+    Optional<SpendingStats> findForUpdate(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+}
@@ -2,19 +2,39 @@ package com.financetracker.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.financetracker.model.Role;
+
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -22,7 +42,54 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Both are immutable, so they are built once and shared by all request threads
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Tokens whose signature was already checked, keyed by a hash of the token. Once full, the entry added
+    // first is dropped for each new one; tokens are cached in issue order, so that is usually the next to expire.
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private Timer cachedTimer;
+    private Timer verifiedTimer;
+    private Timer invalidTimer;
+
+    @PostConstruct
+    public void init() {
+        signingKey = buildSigningKey();
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        cachedTimer = validationTimer("cached");
+        verifiedTimer = validationTimer("verified");
+        invalidTimer = validationTimer("invalid");
+
+        FunctionCounter.builder("cache.gets", cacheHits, LongAdder::sum)
+                .tag("cache", "jwt.verified").tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cacheMisses, LongAdder::sum)
+                .tag("cache", "jwt.verified").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("cache.size", verifiedTokens, Map::size)
+                .tag("cache", "jwt.verified").register(meterRegistry);
+    }
+
+    private Timer validationTimer(String result) {
+        return Timer.builder("jwt.validation")
+                .description("Time to turn a bearer token into verified claims")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private SecretKey buildSigningKey() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         // Ensure the key is at least 512 bits (64 bytes) for HS512
         if (keyBytes.length < 64) {
@@ -38,37 +105,104 @@ public class JwtTokenProvider {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
-    public String generateToken(String username) {
+    // The user id and role travel in the token so requests can be authenticated without a user lookup
+    public String generateToken(UserPrincipal principal) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
 
         return Jwts.builder()
-                .setSubject(username)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(principal.getUsername())
+                .claim(USER_ID_CLAIM, principal.getId())
+                .claim(ROLE_CLAIM, principal.getRole().name())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Verifies the token once and returns its claims, or null when it is malformed, forged or expired
+    public Claims parseClaims(String token) {
+        if (token == null) {
+            return null;
+        }
+        long started = System.nanoTime();
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken verified = verifiedTokens.get(key);
+        if (verified != null) {
+            cacheHits.increment();
+            if (verified.expiresAt() > now) {
+                cachedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return verified.claims();
+            }
+            // Left in place (the queue still holds its key) until eviction reaches it
+            invalidTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        cacheMisses.increment();
 
-        return claims.getSubject();
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            logger.error("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+        if (claims.getExpiration() != null) {
+            remember(key, claims, claims.getExpiration().getTime());
+        }
+        verifiedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+
+    public Long getUserId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Long.class);
+    }
+
+    // Null for tokens issued before the id and role claims existed; those still resolve by username
+    public UserPrincipal getUserPrincipal(Claims claims) {
+        Long userId = getUserId(claims);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return UserPrincipal.fromClaims(userId, claims.getSubject(), Role.valueOf(role));
+    }
+
+    public String getUsernameFromToken(String token) {
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    // O(1) per miss: each key is queued once, when it is first cached, and the queue is trimmed with the map
+    private void remember(String key, Claims claims, long expiresAt) {
+        if (verifiedTokens.putIfAbsent(key, new VerifiedToken(claims, expiresAt)) != null) {
+            return;
+        }
+        insertionOrder.add(key);
+        while (verifiedTokens.size() > verifiedCacheMaxSize) {
+            String eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            verifiedTokens.remove(eldest);
+        }
+    }
+
+    private static String hash(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return false;
     }
-}
\ No newline at end of file
+
+    private record VerifiedToken(Claims claims, long expiresAt) {}
+}
@@ -0,0 +1,81 @@
+package com.financetracker.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Optional, bounded cache of principals read from the database, for when a role change has to take effect
+// before the user's token expires. Off by default, in which case the token's claims are used as issued and
+// an authenticated request costs no queries; when on, each user costs one lookup per TTL.
+@Component
+public class PrincipalCache {
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Value("${security.principal-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Map<Long, CachedPrincipal> principals;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        // Access-ordered, so the least recently seen user is dropped once the cache is full
+        principals = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedPrincipal> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public UserPrincipal resolve(UserPrincipal fromClaims) {
+        if (!enabled) {
+            return fromClaims;
+        }
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = principals.get(fromClaims.getId());
+        if (cached != null && cached.expiresAt() > now) {
+            hits.increment();
+            return cached.principal();
+        }
+        misses.increment();
+        UserPrincipal loaded = (UserPrincipal) customUserDetailsService.loadUserById(fromClaims.getId());
+        UserPrincipal principal = new UserPrincipal(loaded.getId(), loaded.getUsername(), loaded.getEmail(), null, loaded.getRole());
+        principals.put(principal.getId(), new CachedPrincipal(principal, now + ttlSeconds * 1000));
+        return principal;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getSize() {
+        return principals.size();
+    }
+
+    // Call after changing or removing a user so the next request sees the change
+    public void evict(Long userId) {
+        principals.remove(userId);
+    }
+
+    private record CachedPrincipal(UserPrincipal principal, long expiresAt) {}
+}
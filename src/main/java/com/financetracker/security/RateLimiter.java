@@ -0,0 +1,164 @@
+package com.financetracker.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token buckets per client (user id, or IP before login) and per route class. Routes are configured as
+// "pattern=capacity/refillPerSecond" and the first matching pattern decides the class; unmatched paths
+// are not limited. Each bucket is a single atomic long updated with one CAS, and buckets live in striped
+// maps so an idle sweep only walks one stripe at a time.
+@Component
+public class RateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.routes:/api/auth/**=10/1,/api/dashboard/**=30/5,/api/admin/**=30/5,/api/**=120/20}")
+    private String[] routeSpecs;
+
+    @Value("${rate-limit.idle-eviction-seconds:600}")
+    private long idleEvictionSeconds;
+
+    private List<Route> routes;
+    @SuppressWarnings("unchecked")
+    private final Map<String, Bucket>[] stripes = new Map[STRIPES];
+    private int nextStripeToSweep;
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        List<Route> parsed = new ArrayList<>();
+        for (String spec : routeSpecs) {
+            String trimmed = spec.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int equals = trimmed.lastIndexOf('=');
+            int slash = trimmed.lastIndexOf('/');
+            if (equals < 0 || slash < equals) {
+                throw new IllegalArgumentException("Invalid rate-limit route, expected pattern=capacity/refillPerSecond: " + spec);
+            }
+            parsed.add(new Route(parsed.size(), trimmed.substring(0, equals),
+                Long.parseLong(trimmed.substring(equals + 1, slash).trim()),
+                Double.parseDouble(trimmed.substring(slash + 1).trim())));
+        }
+        routes = parsed;
+    }
+
+    // Returns 0 when the request may proceed, otherwise the nanoseconds until it would be allowed
+    public long tryAcquire(String path, String client) {
+        if (!enabled) {
+            return 0;
+        }
+        Route route = match(path);
+        if (route == null) {
+            return 0;
+        }
+        String key = route.index() + ":" + client;
+        Map<String, Bucket> stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        Bucket bucket = stripe.computeIfAbsent(key, k -> new Bucket());
+
+        long waitNanos = bucket.tryAcquire(System.nanoTime(), route.intervalNanos(), route.burstNanos());
+        if (waitNanos == 0) {
+            route.allowed().increment();
+        } else {
+            route.rejected().increment();
+        }
+        return waitNanos;
+    }
+
+    // A bucket that has been idle this long has refilled completely, so dropping it changes nothing
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:10000}")
+    public void evictIdleBuckets() {
+        long idleBefore = System.nanoTime() - TimeUnit.SECONDS.toNanos(idleEvictionSeconds);
+        int stripe = nextStripeToSweep;
+        nextStripeToSweep = (stripe + 1) % STRIPES;
+        stripes[stripe].values().removeIf(bucket -> bucket.theoreticalArrival.get() - idleBefore < 0);
+    }
+
+    public long getActiveBuckets() {
+        long buckets = 0;
+        for (Map<String, Bucket> stripe : stripes) {
+            buckets += stripe.size();
+        }
+        return buckets;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("activeBuckets", getActiveBuckets());
+        List<Map<String, Object>> routeStats = new ArrayList<>();
+        for (Route route : routes) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("pattern", route.pattern());
+            entry.put("capacity", route.capacity());
+            entry.put("refillPerSecond", route.refillPerSecond());
+            entry.put("allowed", route.allowed().sum());
+            entry.put("rejected", route.rejected().sum());
+            routeStats.add(entry);
+        }
+        stats.put("routes", routeStats);
+        return stats;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    private Route match(String path) {
+        for (Route route : routes) {
+            if (pathMatcher.match(route.pattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    public record Route(int index, String pattern, long capacity, double refillPerSecond,
+                        long intervalNanos, long burstNanos, LongAdder allowed, LongAdder rejected) {
+
+        Route(int index, String pattern, long capacity, double refillPerSecond) {
+            this(index, pattern, capacity, refillPerSecond, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond),
+                (long) ((capacity - 1) * (TimeUnit.SECONDS.toNanos(1) / refillPerSecond)), new LongAdder(), new LongAdder());
+        }
+    }
+
+    // Token bucket kept as its theoretical arrival time (GCRA): each request pushes it one refill interval
+    // further, and a request is allowed while it stays within capacity - 1 intervals of now. One CAS, no lock.
+    private static final class Bucket {
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+        long tryAcquire(long now, long intervalNanos, long burstNanos) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long start = current - now < 0 ? now : current;
+                long waitNanos = start - burstNanos - now;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (theoreticalArrival.compareAndSet(current, start + intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
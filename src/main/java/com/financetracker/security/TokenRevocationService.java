@@ -0,0 +1,183 @@
+package com.financetracker.security;
+
+import com.financetracker.model.RevokedToken;
+import com.financetracker.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Answers "is this token revoked?" without I/O. Revoked token ids sit in an exact in-memory map fronted
+// by a Bloom filter, so the usual answer (not revoked) costs a few bit probes. Revocations are persisted
+// and the whole set is reloaded on a schedule, which also picks up other instances' revocations, drops
+// entries whose tokens have expired and resizes the filter to what is left.
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+    private static final int MIN_FILTER_CAPACITY = 1024;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${jwt.expiration}")
+    private int jwtExpirationInMs;
+
+    @Value("${security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile RevocationSet revocations = new RevocationSet(MIN_FILTER_CAPACITY, 0.01);
+    // Guards writes and rebuilds, which save to the database while holding it; readers never take it
+    private final ReentrantLock lock = new ReentrantLock();
+    // rebuild() is called from this bean's own listeners, which bypass the @Transactional proxy
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isRevoked(String jti, Long userId, Date issuedAt) {
+        RevocationSet current = revocations;
+        if (jti != null && current.filter.mightContain(jti) && current.tokens.containsKey(jti)) {
+            return true;
+        }
+        // Tokens without a uid claim (issued before it was added) only get the per-token check
+        if (userId != null && issuedAt != null) {
+            Long cutoff = current.userCutoffs.get(userId);
+            // iat has whole-second precision, so compare seconds: a token issued in the same second as the
+            // revocation (typically the sign-in that follows a password reset) stays valid
+            return cutoff != null && issuedAt.getTime() / 1000 < cutoff / 1000;
+        }
+        return false;
+    }
+
+    @Transactional
+    public void revokeToken(String jti, Long userId, Date expiresAt) {
+        lock.lock();
+        try {
+            if (revocations.tokens.containsKey(jti)) {
+                return;
+            }
+            revokedTokenRepository.save(new RevokedToken(jti, userId, LocalDateTime.now(), toLocalDateTime(expiresAt.getTime())));
+            revocations.addToken(jti, expiresAt.getTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Revokes every token issued to the user so far, e.g. after a password reset or account removal
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            revokedTokenRepository.save(new RevokedToken(null, userId, toLocalDateTime(now), toLocalDateTime(now + jwtExpirationInMs)));
+            revocations.addUserCutoff(userId, now, now + jwtExpirationInMs);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.rebuild-interval-ms:300000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Builds a right-sized set from the database and swaps it in. Entries added in memory since the last
+    // rebuild are carried over too, in case their rows were not yet committed when the table was read.
+    public int rebuild() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            LocalDateTime cutoff = toLocalDateTime(now);
+            int purged = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(cutoff));
+            List<RevokedToken> rows = revokedTokenRepository.findUnexpired(cutoff);
+
+            RevocationSet previous = revocations;
+            RevocationSet rebuilt = new RevocationSet(Math.max(MIN_FILTER_CAPACITY, (rows.size() + previous.tokens.size()) * 2),
+                falsePositiveRate);
+            for (RevokedToken row : rows) {
+                long expiresAt = toEpochMillis(row.getExpiresAt());
+                if (row.getJti() != null) {
+                    rebuilt.addToken(row.getJti(), expiresAt);
+                } else if (row.getUserId() != null) {
+                    rebuilt.addUserCutoff(row.getUserId(), toEpochMillis(row.getRevokedAt()), expiresAt);
+                }
+            }
+            previous.tokens.forEach((jti, expiresAt) -> {
+                if (expiresAt > now) {
+                    rebuilt.addToken(jti, expiresAt);
+                }
+            });
+            previous.userCutoffs.forEach((userId, revokedAt) -> {
+                Long expiresAt = previous.userCutoffExpiries.get(userId);
+                if (expiresAt != null && expiresAt > now) {
+                    rebuilt.addUserCutoff(userId, revokedAt, expiresAt);
+                }
+            });
+            revocations = rebuilt;
+
+            logger.info("Token revocation set rebuilt: {} tokens, {} users ({} expired entries purged)",
+                rebuilt.tokens.size(), rebuilt.userCutoffs.size(), purged);
+            return rebuilt.tokens.size() + rebuilt.userCutoffs.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class RevocationSet {
+        private final BloomFilter filter;
+        private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+        private final Map<Long, Long> userCutoffs = new ConcurrentHashMap<>();
+        private final Map<Long, Long> userCutoffExpiries = new ConcurrentHashMap<>();
+
+        RevocationSet(int capacity, double falsePositiveRate) {
+            this.filter = new BloomFilter(capacity, falsePositiveRate);
+        }
+
+        void addToken(String jti, long expiresAt) {
+            // Map first, so a filter hit always finds its entry
+            tokens.put(jti, expiresAt);
+            filter.add(jti);
+        }
+
+        void addUserCutoff(Long userId, long revokedAt, long expiresAt) {
+            userCutoffs.merge(userId, revokedAt, Math::max);
+            userCutoffExpiries.merge(userId, expiresAt, Math::max);
+        }
+    }
+}
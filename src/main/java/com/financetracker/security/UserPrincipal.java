@@ -8,6 +8,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.financetracker.model.Role;
 import com.financetracker.model.User;
 
 public class UserPrincipal implements UserDetails {
@@ -16,6 +17,9 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    private Role role;
+    private String firstName;
+    private String lastName;
 
     public UserPrincipal(Long id, String username, String email, String password, 
                         Collection<? extends GrantedAuthority> authorities) {
@@ -26,18 +30,36 @@ public class UserPrincipal implements UserDetails {
         this.authorities = authorities;
     }
 
-    public static UserPrincipal create(User user) {
-        Collection<GrantedAuthority> authorities = Collections.singletonList(
-            new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-        );
+    public UserPrincipal(Long id, String username, String email, String password, Role role) {
+        this(id, username, email, password, Collections.singletonList(
+            new SimpleGrantedAuthority("ROLE_" + role.name())
+        ));
+        this.role = role;
+    }
 
-        return new UserPrincipal(
+    public static UserPrincipal create(User user) {
+        UserPrincipal principal = new UserPrincipal(
             user.getId(),
             user.getUsername(),
             user.getEmail(),
             user.getPassword(),
-            authorities
+            user.getRole()
         );
+        principal.firstName = user.getFirstName();
+        principal.lastName = user.getLastName();
+        return principal;
+    }
+
+    public UserPrincipal withPassword(String newPassword) {
+        UserPrincipal principal = new UserPrincipal(id, username, email, newPassword, role);
+        principal.firstName = firstName;
+        principal.lastName = lastName;
+        return principal;
+    }
+
+    // Built from verified token claims, so it carries no email or password
+    public static UserPrincipal fromClaims(Long id, String username, Role role) {
+        return new UserPrincipal(id, username, null, null, role);
     }
 
     public Long getId() {
@@ -48,6 +70,18 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
 
+    public Role getRole() {
+        return role;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
     @Override
     public String getUsername() {
         return username;
@@ -1,12 +1,24 @@
 package com.financetracker.service;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.financetracker.dto.JwtResponse;
@@ -15,9 +27,15 @@ import com.financetracker.dto.SignUpRequest;
 import com.financetracker.model.User;
 import com.financetracker.repository.UserRepository;
 import com.financetracker.security.JwtTokenProvider;
+import com.financetracker.security.TokenRevocationService;
+import com.financetracker.security.UserPrincipal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @Service
 @Transactional
+@Timed(value = "finance.service", histogram = true)
 public class AuthService {
 
     @Autowired
@@ -32,23 +50,80 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
-    public JwtResponse authenticateUser(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                loginRequest.getUsernameOrEmail(),
-                loginRequest.getPassword()
-            )
-        );
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication.getName());
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.login.threads:4}")
+    private int loginThreads;
+
+    @Value("${security.login.queue-capacity:32}")
+    private int loginQueueCapacity;
+
+    private ThreadPoolExecutor loginExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        int threads = Math.max(1, loginThreads);
+        loginExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, loginQueueCapacity)), runnable -> {
+                Thread thread = new Thread(runnable, "login-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
 
-        User user = userRepository.findByUsername(authentication.getName())
-            .or(() -> userRepository.findByEmail(authentication.getName()))
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    @PreDestroy
+    public void shutdown() {
+        loginExecutor.shutdown();
+    }
+
+    // BCrypt runs on a small dedicated pool, so a login storm queues there instead of holding request threads.
+    // Once the queue is full the submit throws RejectedExecutionException straight away.
+    // The aspect skips async methods; the finance.service timer below covers the task on the pool, not queue wait.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<JwtResponse> authenticateUser(LoginRequest loginRequest) {
+        return CompletableFuture.supplyAsync(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String exception = "none";
+            try {
+                Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                        loginRequest.getUsernameOrEmail(),
+                        loginRequest.getPassword()
+                    )
+                );
+
+                // The provider already loaded the user to check the password; its principal has everything we return
+                UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+                String jwt = tokenProvider.generateToken(principal);
+
+                return new JwtResponse(jwt, principal.getId(), principal.getUsername(),
+                                     principal.getEmail(), principal.getFirstName(), principal.getLastName(), principal.getRole());
+            } catch (RuntimeException e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                sample.stop(Timer.builder("finance.service")
+                    .tags("class", AuthService.class.getName(), "method", "authenticateUser", "exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            }
+        }, loginExecutor);
+    }
 
-        return new JwtResponse(jwt, user.getId(), user.getUsername(), 
-                             user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole());
+    public void signOut(String token) {
+        Claims claims = tokenProvider.parseClaims(token);
+        if (claims == null) {
+            throw new RuntimeException("Invalid token");
+        }
+        if (claims.getId() == null) {
+            throw new RuntimeException("Token was issued without an id and cannot be revoked");
+        }
+        tokenRevocationService.revokeToken(claims.getId(), tokenProvider.getUserId(claims), claims.getExpiration());
     }
 
     public User registerUser(SignUpRequest signUpRequest) {
@@ -0,0 +1,88 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.BudgetAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Pushes budget alerts to connected clients over Server-Sent Events.
+// Alerts are published by BudgetService only when a budget changes level, and delivered after commit.
+@Service
+public class BudgetAlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetAlertService.class);
+
+    @Value("${budget.alerts.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        // Added inside compute so a concurrent removeEmitter can't drop the list between lookup and add
+        emitters.compute(userId, (id, userEmitters) -> {
+            List<SseEmitter> subscribers = userEmitters != null ? userEmitters : new CopyOnWriteArrayList<>();
+            subscribers.add(emitter);
+            return subscribers;
+        });
+
+        emitter.onCompletion(() -> removeEmitter(userId, emitter));
+        emitter.onTimeout(() -> removeEmitter(userId, emitter));
+        emitter.onError(e -> removeEmitter(userId, emitter));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBudgetAlert(BudgetAlert alert) {
+        List<SseEmitter> userEmitters = emitters.get(alert.getUserId());
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            try {
+                emitter.send(SseEmitter.event().name("budget-alert").data(alert));
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping budget alert subscriber for user {}: {}", alert.getUserId(), e.getMessage());
+                dropEmitter(alert.getUserId(), emitter, e);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and clears out subscribers that went away
+    @Scheduled(fixedDelayString = "${budget.alerts.heartbeat-ms:30000}")
+    public void sendHeartbeats() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    dropEmitter(userId, emitter, e);
+                }
+            }
+        });
+    }
+
+    // Completes the broken emitter too, so its async request is released rather than left to the timeout
+    private void dropEmitter(Long userId, SseEmitter emitter, Exception e) {
+        removeEmitter(userId, emitter);
+        emitter.completeWithError(e);
+    }
+
+    private void removeEmitter(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
@@ -0,0 +1,165 @@
+package com.financetracker.service;
+
+import com.financetracker.repository.BudgetRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Detects and repairs drift in the denormalised Budget.spentAmount counter.
+// Users are split into id ranges that are scanned in parallel on a fork/join pool; each leaf runs a single
+// grouped query joining budgets to their expenses, and drifted rows are fixed with batched JDBC updates.
+@Service
+public class BudgetReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetReconciliationService.class);
+    private static final String FIX_SQL =
+        "UPDATE budgets SET spent_amount = ?, " +
+        "status = CASE WHEN ? > budget_limit THEN 'EXCEEDED' WHEN ? >= threshold_amount THEN 'NEARING_LIMIT' ELSE 'ON_TRACK' END, " +
+        "updated_at = ? WHERE id = ? AND (spent_amount = ? OR spent_amount IS NULL)";
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${budget.reconciliation.parallelism:4}")
+    private int parallelism;
+
+    @Value("${budget.reconciliation.users-per-partition:500}")
+    private long usersPerPartition;
+
+    @Value("${budget.reconciliation.batch-size:500}")
+    private int batchSize;
+
+    private ForkJoinPool pool;
+    // One reconciliation at a time, held across the whole run, which is why it is not synchronized
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Scheduled(cron = "${budget.reconciliation.cron:0 30 3 * * *}")
+    public void scheduledReconciliation() {
+        reconcile();
+    }
+
+    public ReconciliationResult reconcile() {
+        lock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            Long minUserId = budgetRepository.findMinActiveBudgetUserId();
+            Long maxUserId = budgetRepository.findMaxActiveBudgetUserId();
+            if (minUserId == null || maxUserId == null) {
+                return new ReconciliationResult(0, 0, 0, System.currentTimeMillis() - started);
+            }
+
+            PartitionResult scan = pool.invoke(new PartitionTask(minUserId, maxUserId + 1));
+
+            int corrected = 0;
+            LocalDateTime now = LocalDateTime.now();
+            for (int from = 0; from < scan.drifts.size(); from += batchSize) {
+                List<Object[]> batch = new ArrayList<>();
+                for (Drift drift : scan.drifts.subList(from, Math.min(from + batchSize, scan.drifts.size()))) {
+                    batch.add(new Object[] { drift.actual(), drift.actual(), drift.actual(), Timestamp.valueOf(now),
+                        drift.budgetId(), drift.stored() });
+                }
+                // The stored value is part of the WHERE clause, so a row changed by a concurrent write is left alone
+                for (int updated : jdbcTemplate.batchUpdate(FIX_SQL, batch)) {
+                    if (updated > 0) {
+                        corrected += updated;
+                    }
+                }
+            }
+
+            ReconciliationResult result = new ReconciliationResult(scan.checked, scan.drifts.size(), corrected,
+                System.currentTimeMillis() - started);
+            logger.info("Budget reconciliation: checked {} budgets, {} drifted, {} corrected in {} ms",
+                result.budgetsChecked(), result.driftedBudgets(), result.correctedRows(), result.durationMs());
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class PartitionTask extends RecursiveTask<PartitionResult> {
+        private final long fromUserId;
+        private final long toUserId;
+
+        PartitionTask(long fromUserId, long toUserId) {
+            this.fromUserId = fromUserId;
+            this.toUserId = toUserId;
+        }
+
+        @Override
+        protected PartitionResult compute() {
+            if (toUserId - fromUserId <= usersPerPartition) {
+                return scanPartition(fromUserId, toUserId);
+            }
+            long middle = fromUserId + (toUserId - fromUserId) / 2;
+            PartitionTask left = new PartitionTask(fromUserId, middle);
+            PartitionTask right = new PartitionTask(middle, toUserId);
+            left.fork();
+            PartitionResult rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+
+    private PartitionResult scanPartition(long fromUserId, long toUserId) {
+        PartitionResult result = new PartitionResult();
+        for (Object[] row : budgetRepository.computeActualSpendingForUserRange(fromUserId, toUserId)) {
+            result.checked++;
+            Long budgetId = (Long) row[0];
+            BigDecimal stored = toBigDecimal(row[1]);
+            BigDecimal actual = toBigDecimal(row[2]);
+            if (stored == null || stored.compareTo(actual) != 0) {
+                result.drifts.add(new Drift(budgetId, stored, actual));
+            }
+        }
+        return result;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private record Drift(Long budgetId, BigDecimal stored, BigDecimal actual) {}
+
+    private static final class PartitionResult {
+        private int checked;
+        private final List<Drift> drifts = new ArrayList<>();
+
+        PartitionResult merge(PartitionResult other) {
+            checked += other.checked;
+            drifts.addAll(other.drifts);
+            return this;
+        }
+    }
+
+    public record ReconciliationResult(int budgetsChecked, int driftedBudgets, int correctedRows, long durationMs) {}
+}
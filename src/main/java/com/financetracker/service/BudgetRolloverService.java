@@ -0,0 +1,128 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Budget;
+import com.financetracker.repository.BudgetRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Moves budgets whose WEEKLY/MONTHLY/QUARTERLY/YEARLY period has ended into the current period.
+// Users are split into chunks and each chunk is rolled over with one set-based UPDATE per period type,
+// so the cost scales with the number of chunks rather than the number of budgets.
+@Service
+public class BudgetRolloverService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetRolloverService.class);
+    private static final Set<Budget.PeriodType> ROLLING_PERIODS = EnumSet.of(
+        Budget.PeriodType.WEEKLY, Budget.PeriodType.MONTHLY, Budget.PeriodType.QUARTERLY, Budget.PeriodType.YEARLY);
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${budget.rollover.workers:4}")
+    private int workers;
+
+    @Value("${budget.rollover.chunk-size:1000}")
+    private int chunkSize;
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+    // One rollover at a time; a lock so a run started from a virtual thread does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "budget-rollover-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(cron = "${budget.rollover.cron:0 1 0 * * *}")
+    public void scheduledRollover() {
+        rollOver(LocalDateTime.now());
+    }
+
+    public RolloverResult rollOver(LocalDateTime now) {
+        lock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            List<Long> userIds = budgetRepository.findUserIdsWithEndedPeriods(ROLLING_PERIODS, now);
+
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int from = 0; from < userIds.size(); from += chunkSize) {
+                List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
+                futures.add(executor.submit(() -> rollOverChunk(chunk, now)));
+            }
+
+            int budgets = 0;
+            int failedChunks = 0;
+            for (Future<Integer> future : futures) {
+                try {
+                    budgets += future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Budget rollover interrupted", e);
+                } catch (ExecutionException e) {
+                    failedChunks++;
+                    logger.error("Budget rollover chunk failed", e.getCause());
+                }
+            }
+
+            RolloverResult result = new RolloverResult(userIds.size(), budgets, failedChunks,
+                System.currentTimeMillis() - started);
+            logger.info("Budget rollover: {} budgets for {} users in {} ms ({} failed chunks)",
+                result.budgets(), result.users(), result.durationMs(), result.failedChunks());
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Each chunk commits independently so one failure doesn't roll back the whole run
+    private int rollOverChunk(List<Long> userIds, LocalDateTime now) {
+        Integer updated = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Budget.PeriodType periodType : ROLLING_PERIODS) {
+                count += budgetRepository.rollOverEndedBudgets(userIds, periodType,
+                    periodType.periodStart(now), periodType.periodEnd(now), now);
+            }
+            budgetRepository.refreshStatusForUsers(userIds,
+                Budget.Status.EXCEEDED, Budget.Status.NEARING_LIMIT, Budget.Status.ON_TRACK);
+            return count;
+        });
+        return updated != null ? updated : 0;
+    }
+
+    public record RolloverResult(int users, int budgets, int failedChunks, long durationMs) {}
+}
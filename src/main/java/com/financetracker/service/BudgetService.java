@@ -1,22 +1,30 @@
 package com.financetracker.service;
 
+import com.financetracker.dto.BudgetAlert;
 import com.financetracker.dto.BudgetRequest;
 import com.financetracker.dto.BudgetResponse;
+import com.financetracker.dto.CategoryDTO;
 import com.financetracker.model.*;
 import com.financetracker.repository.*;
 import com.financetracker.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "finance.service", histogram = true)
 public class BudgetService {
 
     @Autowired
@@ -31,6 +39,15 @@ public class BudgetService {
     @Autowired
     private ExpenseRepository expenseRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+
+    @Autowired
+    private SpendingForecastService spendingForecastService;
+
     private User getCurrentUser() {
         UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
             .getAuthentication().getPrincipal();
@@ -54,29 +71,26 @@ public class BudgetService {
         budget.setBudgetLimit(request.getBudgetLimit());
         budget.setCategory(category);
         budget.setUser(user);
-        budget.setStartDate(request.getStartDate());
-        budget.setEndDate(request.getEndDate());
         budget.setNotificationThreshold(request.getNotificationThreshold());
         budget.setPeriodType(Budget.PeriodType.valueOf(request.getPeriodType()));
 
+        applyDates(budget, request, false);
+
         // Calculate current spending for this category
-        LocalDateTime startDate = request.getStartDate() != null ? request.getStartDate() : LocalDateTime.now().withDayOfMonth(1);
-        LocalDateTime endDate = request.getEndDate() != null ? request.getEndDate() : LocalDateTime.now().withDayOfMonth(1).plusMonths(1).minusDays(1);
         
         BigDecimal currentSpending = expenseRepository.getTotalSpentByUserAndCategoryInDateRange(
-            user, category, startDate, endDate);
+            user, category, budget.getStartDate(), budget.getEndDate());
         budget.setSpentAmount(currentSpending != null ? currentSpending : BigDecimal.ZERO);
 
         Budget savedBudget = budgetRepository.save(budget);
-        return convertToResponse(savedBudget);
+        return convertToResponse(savedBudget, spendingForecastService.getStats(user.getId(), category.getId()));
     }
 
+    @Transactional(readOnly = true)
     public List<BudgetResponse> getUserBudgets() {
         User user = getCurrentUser();
         List<Budget> budgets = budgetRepository.findByUserAndIsActiveTrue(user);
-        return budgets.stream()
-            .map(this::convertToResponse)
-            .collect(Collectors.toList());
+        return convertWithForecasts(budgets, user.getId());
     }
 
     public BudgetResponse updateBudget(Long budgetId, BudgetRequest request) {
@@ -92,16 +106,44 @@ public class BudgetService {
         Category category = categoryRepository.findById(request.getCategoryId())
             .orElseThrow(() -> new RuntimeException("Category not found"));
 
+        BudgetAlert.Level previousLevel = alertLevel(budget);
+        Budget.PeriodType periodType = Budget.PeriodType.valueOf(request.getPeriodType());
+        boolean periodChanged = periodType != budget.getPeriodType();
+
         budget.setName(request.getName());
         budget.setBudgetLimit(request.getBudgetLimit());
         budget.setCategory(category);
-        budget.setStartDate(request.getStartDate());
-        budget.setEndDate(request.getEndDate());
         budget.setNotificationThreshold(request.getNotificationThreshold());
-        budget.setPeriodType(Budget.PeriodType.valueOf(request.getPeriodType()));
+        budget.setPeriodType(periodType);
+        applyDates(budget, request, periodChanged);
 
         Budget savedBudget = budgetRepository.save(budget);
-        return convertToResponse(savedBudget);
+        publishIfLevelChanged(savedBudget, previousLevel);
+        return convertToResponse(savedBudget, spendingForecastService.getStats(user.getId(), category.getId()));
+    }
+
+    // Dates the request leaves out keep their stored value, unless the period type changed; otherwise they default
+    // to the current period so the rollover job can move the budget forward
+    private void applyDates(Budget budget, BudgetRequest request, boolean periodChanged) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startDate = request.getStartDate();
+        if (startDate == null) {
+            startDate = budget.getStartDate() != null && !periodChanged
+                ? budget.getStartDate() : budget.getPeriodType().periodStart(now);
+        }
+        LocalDateTime endDate = request.getEndDate();
+        if (endDate == null) {
+            endDate = budget.getEndDate() != null && !periodChanged
+                ? budget.getEndDate() : budget.getPeriodType().periodEnd(now);
+        }
+        if (startDate == null) {
+            startDate = now.withDayOfMonth(1);
+        }
+        if (endDate == null) {
+            endDate = now.withDayOfMonth(1).plusMonths(1).minusDays(1);
+        }
+        budget.setStartDate(startDate);
+        budget.setEndDate(endDate);
     }
 
     public void deleteBudget(Long budgetId) {
@@ -120,28 +162,96 @@ public class BudgetService {
     public void updateBudgetSpending(Category category, User user, BigDecimal amount) {
         budgetRepository.findByUserAndCategoryAndIsActiveTrue(user, category)
             .ifPresent(budget -> {
+                BudgetAlert.Level previousLevel = alertLevel(budget);
                 budget.setSpentAmount(budget.getSpentAmount().add(amount));
                 budgetRepository.save(budget);
+                publishIfLevelChanged(budget, previousLevel);
             });
     }
 
+    // Spending the recurring posting job booked, by occurrence day. Only days inside the active budget's period
+    // count, so catch-up occurrences from earlier periods leave the current one alone
+    public void addPostedSpending(User user, Category category, Map<LocalDate, BigDecimal> spentByDay) {
+        budgetRepository.findByUserAndCategoryAndIsActiveTrue(user, category)
+            .ifPresent(budget -> {
+                long spent = 0L;
+                for (Map.Entry<LocalDate, BigDecimal> entry : spentByDay.entrySet()) {
+                    if (inPeriod(budget, entry.getKey())) {
+                        spent = Money.add(spent, Money.toMinor(entry.getValue()));
+                    }
+                }
+                if (spent == 0L) {
+                    return;
+                }
+                BudgetAlert.Level previousLevel = alertLevel(budget);
+                budget.setSpentAmount(budget.getSpentAmount().add(Money.toBigDecimal(spent)));
+                budgetRepository.save(budget);
+                publishIfLevelChanged(budget, previousLevel);
+            });
+    }
+
+    private static boolean inPeriod(Budget budget, LocalDate day) {
+        return (budget.getStartDate() == null || !day.isBefore(budget.getStartDate().toLocalDate()))
+            && (budget.getEndDate() == null || !day.isAfter(budget.getEndDate().toLocalDate()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetResponse> getAllBudgetsNearingLimit() {
+        return budgetRepository.findActiveBudgetsByStatus(EnumSet.of(Budget.Status.NEARING_LIMIT, Budget.Status.EXCEEDED))
+            .stream()
+            .map(budget -> convertToResponse(budget, null))
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetResponse> getAllExceededBudgets() {
+        return budgetRepository.findActiveBudgetsByStatus(EnumSet.of(Budget.Status.EXCEEDED))
+            .stream()
+            .map(budget -> convertToResponse(budget, null))
+            .collect(Collectors.toList());
+    }
+
+    private BudgetAlert.Level alertLevel(Budget budget) {
+        if (budget.isExceeded()) {
+            return BudgetAlert.Level.EXCEEDED;
+        }
+        return budget.isThresholdReached() ? BudgetAlert.Level.THRESHOLD_REACHED : BudgetAlert.Level.NORMAL;
+    }
+
+    // Only boundary crossings produce an alert; ordinary spending updates stay silent
+    private void publishIfLevelChanged(Budget budget, BudgetAlert.Level previousLevel) {
+        BudgetAlert.Level level = alertLevel(budget);
+        if (level == previousLevel) {
+            return;
+        }
+        eventPublisher.publishEvent(new BudgetAlert(budget.getUser().getId(), budget.getId(), budget.getName(),
+            budget.getCategory().getId(), previousLevel, level, budget.getBudgetLimit(), budget.getSpentAmount(),
+            budget.getPercentageSpent()));
+    }
+
+    @Transactional(readOnly = true)
     public List<BudgetResponse> getBudgetsNearingLimit() {
         User user = getCurrentUser();
         List<Budget> budgets = budgetRepository.findBudgetsNearingLimit(user);
-        return budgets.stream()
-            .map(this::convertToResponse)
-            .collect(Collectors.toList());
+        return convertWithForecasts(budgets, user.getId());
     }
 
+    @Transactional(readOnly = true)
     public List<BudgetResponse> getExceededBudgets() {
         User user = getCurrentUser();
         List<Budget> budgets = budgetRepository.findExceededBudgets(user);
+        return convertWithForecasts(budgets, user.getId());
+    }
+
+    // One stats query per user rather than per budget
+    private List<BudgetResponse> convertWithForecasts(List<Budget> budgets, Long userId) {
+        Map<Long, SpendingStats> stats = spendingForecastService.getStatsByCategory(userId);
         return budgets.stream()
-            .map(this::convertToResponse)
+            .map(budget -> convertToResponse(budget, stats.get(budget.getCategory().getId())))
             .collect(Collectors.toList());
     }
 
-    private BudgetResponse convertToResponse(Budget budget) {
+    private BudgetResponse convertToResponse(Budget budget, SpendingStats stats) {
         BudgetResponse response = new BudgetResponse();
         response.setId(budget.getId());
         response.setName(budget.getName());
@@ -149,8 +259,11 @@ public class BudgetService {
         response.setSpentAmount(budget.getSpentAmount());
         response.setRemainingAmount(budget.getRemainingAmount());
         response.setPercentageSpent(budget.getPercentageSpent());
-        response.setCategoryName(budget.getCategory().getName());
-        response.setCategoryId(budget.getCategory().getId());
+        Long categoryId = budget.getCategory().getId();
+        CategoryDTO category = categoryCatalog.getCategory(categoryId);
+        response.setCategoryName(category != null ? category.getName() : budget.getCategory().getName());
+        response.setCategoryId(categoryId);
+        response.setUserId(budget.getUser().getId());
         response.setStartDate(budget.getStartDate());
         response.setEndDate(budget.getEndDate());
         response.setNotificationThreshold(budget.getNotificationThreshold());
@@ -158,7 +271,9 @@ public class BudgetService {
         response.setIsActive(budget.getIsActive());
         response.setIsExceeded(budget.isExceeded());
         response.setIsThresholdReached(budget.isThresholdReached());
+        response.setStatus(budget.getStatus() != null ? budget.getStatus().name() : null);
         response.setCreatedAt(budget.getCreatedAt());
+        spendingForecastService.applyForecast(response, budget, stats);
         return response;
     }
 }
\ No newline at end of file
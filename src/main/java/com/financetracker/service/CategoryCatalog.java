@@ -0,0 +1,143 @@
+package com.financetracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.dto.CategoryDTO;
+import com.financetracker.dto.IncomeCategoryDTO;
+import com.financetracker.model.Category;
+import com.financetracker.model.IncomeCategory;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.IncomeCategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Immutable in-memory copy of the expense and income category tables.
+// Readers never touch the database; writers build a new snapshot and swap it in atomically.
+@Service
+public class CategoryCatalog {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IncomeCategoryRepository incomeCategoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicReference<Snapshot<CategoryDTO>> categories = new AtomicReference<>();
+    private final AtomicReference<Snapshot<IncomeCategoryDTO>> incomeCategories = new AtomicReference<>();
+    // Reloads query the database, so they take a lock rather than pinning a virtual thread with synchronized
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public Snapshot<CategoryDTO> getCategories() {
+        Snapshot<CategoryDTO> snapshot = categories.get();
+        return snapshot != null ? snapshot : reloadCategories();
+    }
+
+    public Snapshot<IncomeCategoryDTO> getIncomeCategories() {
+        Snapshot<IncomeCategoryDTO> snapshot = incomeCategories.get();
+        return snapshot != null ? snapshot : reloadIncomeCategories();
+    }
+
+    public CategoryDTO getCategory(Long id) {
+        return getCategories().get(id);
+    }
+
+    public IncomeCategoryDTO getIncomeCategory(Long id) {
+        return getIncomeCategories().get(id);
+    }
+
+    public Snapshot<CategoryDTO> reloadCategories() {
+        lock.lock();
+        try {
+            List<CategoryDTO> items = categoryRepository.findAll().stream()
+                .map(CategoryCatalog::toDTO)
+                .collect(Collectors.toList());
+            Snapshot<CategoryDTO> snapshot = buildSnapshot(items, CategoryDTO::getId);
+            categories.set(snapshot);
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Snapshot<IncomeCategoryDTO> reloadIncomeCategories() {
+        lock.lock();
+        try {
+            List<IncomeCategoryDTO> items = incomeCategoryRepository.findAllByOrderByName().stream()
+                .map(CategoryCatalog::toDTO)
+                .collect(Collectors.toList());
+            Snapshot<IncomeCategoryDTO> snapshot = buildSnapshot(items, IncomeCategoryDTO::getId);
+            incomeCategories.set(snapshot);
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> Snapshot<T> buildSnapshot(List<T> items, Function<T, Long> idExtractor) {
+        Map<Long, T> byId = new LinkedHashMap<>();
+        for (T item : items) {
+            byId.put(idExtractor.apply(item), item);
+        }
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(items);
+            // Content hash rather than the version, so identical catalogs keep their ETag across restarts
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            return new Snapshot<>(versionSequence.incrementAndGet(), Collections.unmodifiableList(items),
+                Collections.unmodifiableMap(byId), body, etag);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialise category catalog", e);
+        }
+    }
+
+    static CategoryDTO toDTO(Category category) {
+        return new CategoryDTO(category.getId(), category.getName(), category.getDescription(),
+            category.getIconName(), category.getColorCode());
+    }
+
+    static IncomeCategoryDTO toDTO(IncomeCategory category) {
+        IncomeCategoryDTO dto = new IncomeCategoryDTO();
+        dto.setId(category.getId());
+        dto.setName(category.getName());
+        dto.setDescription(category.getDescription());
+        dto.setIconName(category.getIconName());
+        dto.setColorCode(category.getColorCode());
+        return dto;
+    }
+
+    public static final class Snapshot<T> {
+        private final long version;
+        private final List<T> items;
+        private final Map<Long, T> byId;
+        private final byte[] body;
+        private final String etag;
+
+        private Snapshot(long version, List<T> items, Map<Long, T> byId, byte[] body, String etag) {
+            this.version = version;
+            this.items = items;
+            this.byId = byId;
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public long getVersion() { return version; }
+        public List<T> getItems() { return items; }
+        public T get(Long id) { return id != null ? byId.get(id) : null; }
+        public byte[] getBody() { return body; }
+        public String getEtag() { return etag; }
+    }
+}
@@ -1,88 +1,102 @@
 package com.financetracker.service;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import com.financetracker.model.Category;
-import com.financetracker.model.IncomeCategory;
 import com.financetracker.model.Role;
 import com.financetracker.model.User;
-import com.financetracker.repository.CategoryRepository;
-import com.financetracker.repository.IncomeCategoryRepository;
 import com.financetracker.repository.UserRepository;
 
+// Runs first so other runners, like the synthetic data generator, can rely on the categories
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class DataInitializer implements CommandLineRunner {
 
+    // Default categories with icons and colors similar to Revolut
+    private static final List<DefaultCategory> DEFAULT_CATEGORIES = List.of(
+        new DefaultCategory("Food & Dining", "Restaurant and food expenses", "🍽️", "#FF6B6B"),
+        new DefaultCategory("Transport", "Transportation and travel", "🚗", "#4ECDC4"),
+        new DefaultCategory("Shopping", "Retail and online purchases", "🛍️", "#45B7D1"),
+        new DefaultCategory("Entertainment", "Movies, games, and fun", "🎬", "#96CEB4"),
+        new DefaultCategory("Bills & Utilities", "Monthly bills and utilities", "💡", "#FECA57"),
+        new DefaultCategory("Healthcare", "Medical and health expenses", "⚕️", "#FF9FF3"),
+        new DefaultCategory("Education", "Learning and education", "📚", "#54A0FF"),
+        new DefaultCategory("Groceries", "Food and household items", "🛒", "#5F27CD"),
+        new DefaultCategory("Gas & Fuel", "Vehicle fuel costs", "⛽", "#FF9F43"),
+        new DefaultCategory("Investment", "Stocks and investment", "📈", "#1DD1A1"),
+        new DefaultCategory("Gifts & Donations", "Charitable giving", "🎁", "#F0932B"),
+        new DefaultCategory("Other", "Miscellaneous expenses", "💰", "#6C5CE7"));
+
+    private static final List<DefaultCategory> DEFAULT_INCOME_CATEGORIES = List.of(
+        new DefaultCategory("Salary", "Regular salary income", "💼", "#10AC84"),
+        new DefaultCategory("Freelance", "Freelance work income", "🖥️", "#00D2D3"),
+        new DefaultCategory("Investment", "Investment returns and dividends", "📊", "#5F27CD"),
+        new DefaultCategory("Business", "Business income and profits", "🏢", "#FF6348"),
+        new DefaultCategory("Rental", "Rental property income", "🏠", "#FFA502"),
+        new DefaultCategory("Side Hustle", "Side gig earnings", "🚀", "#3742FA"),
+        new DefaultCategory("Bonus", "Work bonuses and incentives", "🎯", "#2ED573"),
+        new DefaultCategory("Gift", "Gifts and monetary presents", "🎁", "#FF4757"),
+        new DefaultCategory("Refund", "Tax refunds and cashbacks", "💳", "#1E90FF"),
+        new DefaultCategory("Other", "Other sources of income", "💰", "#A4B0BE"));
+
     @Autowired
-    private CategoryRepository categoryRepository;
-    
-    @Autowired
-    private IncomeCategoryRepository incomeCategoryRepository;
+    private JdbcTemplate jdbcTemplate;
     
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private CategoryCatalog categoryCatalog;
 
     @Override
     public void run(String... args) throws Exception {
         initializeDefaultCategories();
-        initializeDefaultIncomeCategories();
         initializeAdminUser();
+        
+        // Warm the category catalog so the first requests don't pay for the load
+        categoryCatalog.reloadCategories();
+        categoryCatalog.reloadIncomeCategories();
     }
 
     private void initializeDefaultCategories() {
-        if (categoryRepository.count() == 0) {
-            // Create default categories with icons and colors similar to Revolut
-            createCategory("Food & Dining", "Restaurant and food expenses", "🍽️", "#FF6B6B");
-            createCategory("Transport", "Transportation and travel", "🚗", "#4ECDC4");
-            createCategory("Shopping", "Retail and online purchases", "🛍️", "#45B7D1");
-            createCategory("Entertainment", "Movies, games, and fun", "🎬", "#96CEB4");
-            createCategory("Bills & Utilities", "Monthly bills and utilities", "💡", "#FECA57");
-            createCategory("Healthcare", "Medical and health expenses", "⚕️", "#FF9FF3");
-            createCategory("Education", "Learning and education", "📚", "#54A0FF");
-            createCategory("Groceries", "Food and household items", "🛒", "#5F27CD");
-            createCategory("Gas & Fuel", "Vehicle fuel costs", "⛽", "#FF9F43");
-            createCategory("Investment", "Stocks and investment", "📈", "#1DD1A1");
-            createCategory("Gifts & Donations", "Charitable giving", "🎁", "#F0932B");
-            createCategory("Other", "Miscellaneous expenses", "💰", "#6C5CE7");
-        }
-    }
+        // Defaults are seeded into an empty table only, so categories users deleted or renamed stay that way.
+        // One query counts both tables, then one batch insert per empty table.
+        long[] counts = new long[2];
+        jdbcTemplate.query("SELECT 'E', COUNT(*) FROM categories UNION ALL SELECT 'I', COUNT(*) FROM income_categories", rs -> {
+            counts[rs.getString(1).equals("E") ? 0 : 1] = rs.getLong(2);
+        });
 
-    private void initializeDefaultIncomeCategories() {
-        if (incomeCategoryRepository.count() == 0) {
-            // Create default income categories
-            createIncomeCategory("Salary", "Regular salary income", "💼", "#10AC84");
-            createIncomeCategory("Freelance", "Freelance work income", "🖥️", "#00D2D3");
-            createIncomeCategory("Investment", "Investment returns and dividends", "📊", "#5F27CD");
-            createIncomeCategory("Business", "Business income and profits", "🏢", "#FF6348");
-            createIncomeCategory("Rental", "Rental property income", "🏠", "#FFA502");
-            createIncomeCategory("Side Hustle", "Side gig earnings", "🚀", "#3742FA");
-            createIncomeCategory("Bonus", "Work bonuses and incentives", "🎯", "#2ED573");
-            createIncomeCategory("Gift", "Gifts and monetary presents", "🎁", "#FF4757");
-            createIncomeCategory("Refund", "Tax refunds and cashbacks", "💳", "#1E90FF");
-            createIncomeCategory("Other", "Other sources of income", "💰", "#A4B0BE");
+        if (counts[0] == 0) {
+            insertAll("categories", DEFAULT_CATEGORIES);
         }
-    }
-
-    private void createCategory(String name, String description, String iconName, String colorCode) {
-        if (!categoryRepository.existsByName(name)) {
-            Category category = new Category(name, description, iconName, colorCode);
-            categoryRepository.save(category);
+        if (counts[1] == 0) {
+            insertAll("income_categories", DEFAULT_INCOME_CATEGORIES);
         }
     }
-    
-    private void createIncomeCategory(String name, String description, String iconName, String colorCode) {
-        if (!incomeCategoryRepository.existsByName(name)) {
-            IncomeCategory incomeCategory = new IncomeCategory(name, description, iconName, colorCode);
-            incomeCategoryRepository.save(incomeCategory);
+
+    private void insertAll(String table, List<DefaultCategory> defaults) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (DefaultCategory category : defaults) {
+            rows.add(new Object[] {category.name(), category.description(), category.iconName(), category.colorCode(), now});
         }
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (name, description, icon_name, color_code, created_at) "
+            + "VALUES (?, ?, ?, ?, ?)", rows);
     }
-    
+
     private void initializeAdminUser() {
         // Create default admin user if no admin exists
         if (userRepository.count() == 0) {
@@ -100,4 +114,6 @@ public class DataInitializer implements CommandLineRunner {
             System.out.println("Password: admin123");
         }
     }
+
+    private record DefaultCategory(String name, String description, String iconName, String colorCode) {}
 }
\ No newline at end of file
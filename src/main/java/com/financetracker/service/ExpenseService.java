@@ -1,25 +1,39 @@
 package com.financetracker.service;
 
+import com.financetracker.dto.CategoryDTO;
 import com.financetracker.dto.ExpenseRequest;
 import com.financetracker.dto.ExpenseResponse;
+import com.financetracker.dto.ExpenseSearchRequest;
+import com.financetracker.dto.ExpenseSearchResponse;
+import com.financetracker.dto.ExpenseSearchRow;
 import com.financetracker.model.*;
 import com.financetracker.repository.*;
 import com.financetracker.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "finance.service", histogram = true)
 public class ExpenseService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 200;
+
     @Autowired
     private ExpenseRepository expenseRepository;
 
@@ -35,6 +49,18 @@ public class ExpenseService {
     @Autowired
     private BudgetService budgetService;
 
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private SpendingForecastService spendingForecastService;
+
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
     private User getCurrentUser() {
         UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
             .getAuthentication().getPrincipal();
@@ -42,11 +68,18 @@ public class ExpenseService {
             .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    // Validate against the in-memory catalog and hand back a proxy, so no category row is selected
+    private Category getCategoryReference(Long categoryId) {
+        if (categoryCatalog.getCategory(categoryId) == null) {
+            throw new RuntimeException("Category not found");
+        }
+        return categoryRepository.getReferenceById(categoryId);
+    }
+
     public ExpenseResponse addExpense(ExpenseRequest request) {
         User user = getCurrentUser();
         
-        Category category = categoryRepository.findById(request.getCategoryId())
-            .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category category = getCategoryReference(request.getCategoryId());
 
         Account account = null;
         if (request.getAccountId() != null) {
@@ -71,9 +104,11 @@ public class ExpenseService {
         expense.setRecurringType(Expense.RecurringType.valueOf(request.getRecurringType()));
 
         Expense savedExpense = expenseRepository.save(expense);
+        transactionSearchService.indexExpense(savedExpense);
 
         // Update budget spending if applicable
         budgetService.updateBudgetSpending(category, user, request.getAmount());
+        spendingForecastService.recordSpending(user, category, savedExpense.getExpenseDate().toLocalDate(), request.getAmount());
 
         // Update account balance if account is specified
         if (account != null) {
@@ -84,6 +119,7 @@ public class ExpenseService {
         return convertToResponse(savedExpense);
     }
 
+    @Transactional(readOnly = true)
     public List<ExpenseResponse> getUserExpenses() {
         User user = getCurrentUser();
         List<Expense> expenses = expenseRepository.findByUserOrderByExpenseDateDesc(user);
@@ -92,10 +128,10 @@ public class ExpenseService {
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ExpenseResponse> getUserExpensesByCategory(Long categoryId) {
         User user = getCurrentUser();
-        Category category = categoryRepository.findById(categoryId)
-            .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category category = getCategoryReference(categoryId);
         
         List<Expense> expenses = expenseRepository.findByUserAndCategoryOrderByExpenseDateDesc(user, category);
         return expenses.stream()
@@ -103,15 +139,42 @@ public class ExpenseService {
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ExpenseResponse> getUserExpensesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         User user = getCurrentUser();
-        List<Expense> expenses = expenseRepository.findByUserAndExpenseDateBetweenOrderByExpenseDateDesc(
-            user, startDate, endDate);
+        List<Expense> expenses = withProjections(expenseRepository.findByUserAndExpenseDateBetweenOrderByExpenseDateDesc(
+            user, startDate, endDate), user.getId(), startDate, endDate);
         return expenses.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public ExpenseSearchResponse searchExpenses(ExpenseSearchRequest request) {
+        UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
+            .getAuthentication().getPrincipal();
+
+        Specification<Expense> spec = Specification.where(ExpenseSpecifications.belongsToUser(userPrincipal.getId()))
+            .and(ExpenseSpecifications.dateFrom(request.getStartDate()))
+            .and(ExpenseSpecifications.dateTo(request.getEndDate()))
+            .and(ExpenseSpecifications.inCategories(request.getCategoryIds()))
+            .and(ExpenseSpecifications.inAccounts(request.getAccountIds()))
+            .and(ExpenseSpecifications.amountAtLeast(request.getMinAmount()))
+            .and(ExpenseSpecifications.amountAtMost(request.getMaxAmount()))
+            .and(ExpenseSpecifications.textContains(request.getText()))
+            .and(ExpenseSpecifications.after(request.getAfterDate(), request.getAfterId()));
+
+        int size = request.getSize() != null ? Math.max(1, Math.min(request.getSize(), MAX_SEARCH_PAGE_SIZE)) : 50;
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<ExpenseSearchRow> rows = expenseRepository.searchRows(spec, size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        return new ExpenseSearchResponse(rows, hasMore);
+    }
+
     public ExpenseResponse updateExpense(Long expenseId, ExpenseRequest request) {
         User user = getCurrentUser();
         
@@ -123,12 +186,12 @@ public class ExpenseService {
             throw new RuntimeException("Expense does not belong to user");
         }
 
-        // Store original amount and category for budget updates
+        // Store original amount, category and day for budget and forecast updates
         BigDecimal originalAmount = expense.getAmount();
         Category originalCategory = expense.getCategory();
+        LocalDate originalDay = expense.getExpenseDate().toLocalDate();
 
-        Category category = categoryRepository.findById(request.getCategoryId())
-            .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category category = getCategoryReference(request.getCategoryId());
 
         Account account = null;
         if (request.getAccountId() != null) {
@@ -157,6 +220,7 @@ public class ExpenseService {
         expense.setRecurringType(Expense.RecurringType.valueOf(request.getRecurringType()));
 
         Expense savedExpense = expenseRepository.save(expense);
+        transactionSearchService.indexExpense(savedExpense);
 
         // Update budget spending
         if (originalCategory.getId().equals(category.getId())) {
@@ -171,6 +235,15 @@ public class ExpenseService {
             budgetService.updateBudgetSpending(category, user, request.getAmount());
         }
 
+        // The forecast sees a moved expense as new spending, and any other edit as a correction
+        LocalDate day = savedExpense.getExpenseDate().toLocalDate();
+        if (originalCategory.getId().equals(category.getId()) && originalDay.equals(day)) {
+            spendingForecastService.correctSpending(user, category, day, request.getAmount().subtract(originalAmount));
+        } else {
+            spendingForecastService.correctSpending(user, originalCategory, originalDay, originalAmount.negate());
+            spendingForecastService.recordSpending(user, category, day, request.getAmount());
+        }
+
         return convertToResponse(savedExpense);
     }
 
@@ -186,6 +259,8 @@ public class ExpenseService {
 
         // Reverse budget spending
         budgetService.updateBudgetSpending(expense.getCategory(), user, expense.getAmount().negate());
+        spendingForecastService.correctSpending(user, expense.getCategory(), expense.getExpenseDate().toLocalDate(),
+            expense.getAmount().negate());
 
         // Reverse account transaction
         if (expense.getAccount() != null) {
@@ -193,44 +268,81 @@ public class ExpenseService {
             accountRepository.save(expense.getAccount());
         }
 
+        transactionSearchService.removeExpense(expense.getId(), user.getId());
         expenseRepository.delete(expense);
     }
     
+    @Transactional(readOnly = true)
     public List<ExpenseResponse> getExpensesByDate(Long userId, java.time.LocalDate date) {
-        List<Expense> expenses = expenseRepository.findByUserIdAndDate(userId, date);
+        List<Expense> expenses = withProjections(expenseRepository.findByUserIdAndDate(userId, date),
+            userId, date.atStartOfDay(), date.atTime(LocalTime.MAX));
         return expenses.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getDailyExpensesByUserId(Long userId, java.time.LocalDate date) {
         BigDecimal result = expenseRepository.getDailyExpensesByUserId(userId, date);
-        return result != null ? result : BigDecimal.ZERO;
+        BigDecimal projected = recurringTransactionService.projectedExpenseTotal(userId, date.atStartOfDay(), date.atTime(LocalTime.MAX));
+        return result != null ? result.add(projected) : projected;
     }
     
+    // Stored plus projected totals for each day in the range with any expenses, in two queries
+    @Transactional(readOnly = true)
+    public Map<LocalDate, BigDecimal> getDailyExpenseTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, BigDecimal> totals = recurringTransactionService.projectedExpenseTotalsByDay(userId,
+            startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
+        for (Object[] row : expenseRepository.getDailyExpenseTotalsByUserId(userId, startDate, endDate)) {
+            totals.merge((LocalDate) row[0], (BigDecimal) row[1], BigDecimal::add);
+        }
+        return totals;
+    }
+    
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpensesByUserIdAndDateRange(Long userId, java.time.LocalDate startDate, java.time.LocalDate endDate) {
         BigDecimal result = expenseRepository.getTotalExpensesByUserIdAndDateRange(userId, startDate, endDate);
-        return result != null ? result : BigDecimal.ZERO;
+        BigDecimal projected = recurringTransactionService.projectedExpenseTotal(userId, startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
+        return result != null ? result.add(projected) : projected;
     }
     
+    @Transactional(readOnly = true)
     public List<ExpenseResponse> getExpensesByDateRange(Long userId, java.time.LocalDate startDate, java.time.LocalDate endDate) {
-        List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
+        List<Expense> expenses = withProjections(expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate),
+            userId, startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
         return expenses.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
 
-    private ExpenseResponse convertToResponse(Expense expense) {
+    // Adds the recurring occurrences in the range that aren't stored yet, newest first
+    private List<Expense> withProjections(List<Expense> stored, Long userId, LocalDateTime from, LocalDateTime to) {
+        List<Expense> projected = recurringTransactionService.projectExpenses(userId, from, to);
+        if (projected.isEmpty()) {
+            return stored;
+        }
+        List<Expense> expenses = new ArrayList<>(stored);
+        expenses.addAll(projected);
+        expenses.sort(Comparator.comparing(Expense::getExpenseDate).reversed());
+        return expenses;
+    }
+
+    // Package-private so the JMH benchmarks can measure it without reflection
+    ExpenseResponse convertToResponse(Expense expense) {
         ExpenseResponse response = new ExpenseResponse();
         response.setId(expense.getId());
         response.setAmount(expense.getAmount());
         response.setDescription(expense.getDescription());
-        response.setCategoryName(expense.getCategory().getName());
-        response.setCategoryId(expense.getCategory().getId());
+        Long categoryId = expense.getCategory().getId();
+        CategoryDTO category = categoryCatalog.getCategory(categoryId);
+        response.setCategoryName(category != null ? category.getName() : expense.getCategory().getName());
+        response.setCategoryId(categoryId);
         response.setExpenseDate(expense.getExpenseDate());
         response.setNotes(expense.getNotes());
         response.setRecurringType(expense.getRecurringType().name());
         response.setCreatedAt(expense.getCreatedAt());
+        response.setRecurringSourceId(expense.getRecurringSourceId());
+        response.setProjected(expense.getId() == null);
         
         if (expense.getAccount() != null) {
             response.setAccountName(expense.getAccount().getName());
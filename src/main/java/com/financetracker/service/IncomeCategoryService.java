@@ -8,7 +8,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class IncomeCategoryService {
@@ -16,15 +15,15 @@ public class IncomeCategoryService {
     @Autowired
     private IncomeCategoryRepository incomeCategoryRepository;
     
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+    
     public List<IncomeCategoryDTO> getAllCategories() {
-        return incomeCategoryRepository.findAllByOrderByName().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return categoryCatalog.getIncomeCategories().getItems();
     }
     
     public Optional<IncomeCategoryDTO> getCategoryById(Long id) {
-        return incomeCategoryRepository.findById(id)
-                .map(this::convertToDTO);
+        return Optional.ofNullable(categoryCatalog.getIncomeCategory(id));
     }
     
     public IncomeCategoryDTO createCategory(IncomeCategoryDTO categoryDTO) {
@@ -39,6 +38,7 @@ public class IncomeCategoryService {
         category.setColorCode(categoryDTO.getColorCode());
         
         IncomeCategory savedCategory = incomeCategoryRepository.save(category);
+        categoryCatalog.reloadIncomeCategories();
         return convertToDTO(savedCategory);
     }
     
@@ -62,6 +62,7 @@ public class IncomeCategoryService {
         category.setColorCode(categoryDTO.getColorCode());
         
         IncomeCategory updatedCategory = incomeCategoryRepository.save(category);
+        categoryCatalog.reloadIncomeCategories();
         return convertToDTO(updatedCategory);
     }
     
@@ -70,15 +71,10 @@ public class IncomeCategoryService {
             throw new RuntimeException("Category not found with id: " + id);
         }
         incomeCategoryRepository.deleteById(id);
+        categoryCatalog.reloadIncomeCategories();
     }
     
     private IncomeCategoryDTO convertToDTO(IncomeCategory category) {
-        IncomeCategoryDTO dto = new IncomeCategoryDTO();
-        dto.setId(category.getId());
-        dto.setName(category.getName());
-        dto.setDescription(category.getDescription());
-        dto.setIconName(category.getIconName());
-        dto.setColorCode(category.getColorCode());
-        return dto;
+        return CategoryCatalog.toDTO(category);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.financetracker.service;
 
+import com.financetracker.dto.IncomeCategoryDTO;
 import com.financetracker.dto.IncomeDTO;
 import com.financetracker.model.Income;
 import com.financetracker.model.IncomeCategory;
@@ -7,16 +8,25 @@ import com.financetracker.model.User;
 import com.financetracker.repository.IncomeRepository;
 import com.financetracker.repository.IncomeCategoryRepository;
 import com.financetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional
+@Timed(value = "finance.service", histogram = true)
 public class IncomeService {
     
     @Autowired
@@ -28,43 +38,74 @@ public class IncomeService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+    
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+    
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+    
+    @Transactional(readOnly = true)
     public List<IncomeDTO> getAllIncomesByUserId(Long userId) {
         return incomeRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Optional<IncomeDTO> getIncomeById(Long id, Long userId) {
         return incomeRepository.findById(id)
                 .filter(income -> income.getUser().getId().equals(userId))
                 .map(this::convertToDTO);
     }
     
+    @Transactional(readOnly = true)
     public List<IncomeDTO> getIncomesByDate(Long userId, LocalDate date) {
-        return incomeRepository.findByUserIdAndDate(userId, date).stream()
+        return withProjections(incomeRepository.findByUserIdAndDate(userId, date),
+                userId, date.atStartOfDay(), date.atTime(LocalTime.MAX)).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<IncomeDTO> getIncomesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        return incomeRepository.findByUserIdAndDateBetween(userId, startDate, endDate).stream()
+        return withProjections(incomeRepository.findByUserIdAndDateBetween(userId, startDate, endDate),
+                userId, startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX)).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getTotalIncome(Long userId) {
-        Double total = incomeRepository.getTotalIncomeByUserId(userId);
-        return total != null ? BigDecimal.valueOf(total) : BigDecimal.ZERO;
+        BigDecimal total = incomeRepository.getTotalIncomeByUserId(userId);
+        return total != null ? total : BigDecimal.ZERO;
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getDailyIncome(Long userId, LocalDate date) {
-        Double total = incomeRepository.getDailyIncomeByUserIdAndDate(userId, date);
-        return total != null ? BigDecimal.valueOf(total) : BigDecimal.ZERO;
+        BigDecimal total = incomeRepository.getDailyIncomeByUserIdAndDate(userId, date);
+        BigDecimal projected = recurringTransactionService.projectedIncomeTotal(userId, date.atStartOfDay(), date.atTime(LocalTime.MAX));
+        return total != null ? total.add(projected) : projected;
+    }
+    
+    // Stored plus projected totals for each day in the range with any income, in two queries
+    @Transactional(readOnly = true)
+    public Map<LocalDate, BigDecimal> getDailyIncomeTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, BigDecimal> totals = recurringTransactionService.projectedIncomeTotalsByDay(userId,
+            startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
+        for (Object[] row : incomeRepository.getDailyIncomeTotalsByUserId(userId, startDate, endDate)) {
+            totals.merge((LocalDate) row[0], (BigDecimal) row[1], BigDecimal::add);
+        }
+        return totals;
     }
     
+    @Transactional(readOnly = true)
     public BigDecimal getIncomeForDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        Double total = incomeRepository.getTotalIncomeByUserIdAndDateRange(userId, startDate, endDate);
-        return total != null ? BigDecimal.valueOf(total) : BigDecimal.ZERO;
+        BigDecimal total = incomeRepository.getTotalIncomeByUserIdAndDateRange(userId, startDate, endDate);
+        BigDecimal projected = recurringTransactionService.projectedIncomeTotal(userId, startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
+        return total != null ? total.add(projected) : projected;
     }
     
     public IncomeDTO createIncome(IncomeDTO incomeDTO, Long userId) {
@@ -73,19 +114,18 @@ public class IncomeService {
             throw new RuntimeException("User not found with id: " + userId);
         }
         
-        Optional<IncomeCategory> categoryOpt = incomeCategoryRepository.findById(incomeDTO.getCategoryId());
-        if (categoryOpt.isEmpty()) {
-            throw new RuntimeException("Income category not found with id: " + incomeDTO.getCategoryId());
-        }
+        IncomeCategory category = getCategoryReference(incomeDTO.getCategoryId());
         
         Income income = new Income();
         income.setAmount(incomeDTO.getAmount());
         income.setDescription(incomeDTO.getDescription());
         income.setIncomeDate(incomeDTO.getDate().atStartOfDay());
         income.setUser(userOpt.get());
-        income.setCategory(categoryOpt.get());
+        income.setCategory(category);
+        income.setRecurringType(Income.RecurringType.valueOf(incomeDTO.getRecurringType()));
         
         Income savedIncome = incomeRepository.save(income);
+        transactionSearchService.indexIncome(savedIncome);
         return convertToDTO(savedIncome);
     }
     
@@ -100,17 +140,16 @@ public class IncomeService {
             throw new RuntimeException("Income does not belong to the current user");
         }
         
-        Optional<IncomeCategory> categoryOpt = incomeCategoryRepository.findById(incomeDTO.getCategoryId());
-        if (categoryOpt.isEmpty()) {
-            throw new RuntimeException("Income category not found with id: " + incomeDTO.getCategoryId());
-        }
+        IncomeCategory category = getCategoryReference(incomeDTO.getCategoryId());
         
         income.setAmount(incomeDTO.getAmount());
         income.setDescription(incomeDTO.getDescription());
         income.setIncomeDate(incomeDTO.getDate().atStartOfDay());
-        income.setCategory(categoryOpt.get());
+        income.setCategory(category);
+        income.setRecurringType(Income.RecurringType.valueOf(incomeDTO.getRecurringType()));
         
         Income updatedIncome = incomeRepository.save(income);
+        transactionSearchService.indexIncome(updatedIncome);
         return convertToDTO(updatedIncome);
     }
     
@@ -126,18 +165,51 @@ public class IncomeService {
         }
         
         incomeRepository.deleteById(id);
+        transactionSearchService.removeIncome(id, userId);
+    }
+    
+    // Adds the recurring occurrences in the range that aren't stored yet, newest first
+    private List<Income> withProjections(List<Income> stored, Long userId, LocalDateTime from, LocalDateTime to) {
+        List<Income> projected = recurringTransactionService.projectIncomes(userId, from, to);
+        if (projected.isEmpty()) {
+            return stored;
+        }
+        List<Income> incomes = new ArrayList<>(stored);
+        incomes.addAll(projected);
+        incomes.sort(Comparator.comparing(Income::getIncomeDate).reversed());
+        return incomes;
     }
     
-    private IncomeDTO convertToDTO(Income income) {
+    // Validate against the in-memory catalog and hand back a proxy, so no category row is selected
+    private IncomeCategory getCategoryReference(Long categoryId) {
+        if (categoryCatalog.getIncomeCategory(categoryId) == null) {
+            throw new RuntimeException("Income category not found with id: " + categoryId);
+        }
+        return incomeCategoryRepository.getReferenceById(categoryId);
+    }
+    
+    // Package-private so the JMH benchmarks can measure it without reflection
+    IncomeDTO convertToDTO(Income income) {
         IncomeDTO dto = new IncomeDTO();
         dto.setId(income.getId());
         dto.setAmount(income.getAmount());
         dto.setDescription(income.getDescription());
         dto.setDate(income.getIncomeDate().toLocalDate());
-        dto.setCategoryId(income.getCategory().getId());
-        dto.setCategoryName(income.getCategory().getName());
-        dto.setCategoryIcon(income.getCategory().getIconName());
-        dto.setCategoryColor(income.getCategory().getColorCode());
+        Long categoryId = income.getCategory().getId();
+        dto.setCategoryId(categoryId);
+        dto.setRecurringType(income.getRecurringType().name());
+        dto.setRecurringSourceId(income.getRecurringSourceId());
+        dto.setProjected(income.getId() == null);
+        IncomeCategoryDTO category = categoryCatalog.getIncomeCategory(categoryId);
+        if (category != null) {
+            dto.setCategoryName(category.getName());
+            dto.setCategoryIcon(category.getIconName());
+            dto.setCategoryColor(category.getColorCode());
+        } else {
+            dto.setCategoryName(income.getCategory().getName());
+            dto.setCategoryIcon(income.getCategory().getIconName());
+            dto.setCategoryColor(income.getCategory().getColorCode());
+        }
         return dto;
     }
 }
\ No newline at end of file
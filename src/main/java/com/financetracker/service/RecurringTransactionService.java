@@ -0,0 +1,436 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Expense;
+import com.financetracker.model.Income;
+import com.financetracker.model.Money;
+import com.financetracker.repository.ExpenseRepository;
+import com.financetracker.repository.IncomeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Expands expenses and incomes with a recurring type into their occurrences. Occurrence k of a series is
+// the original date plus k periods, always counted from the original so month-end dates don't drift.
+// Reads project occurrences that aren't stored yet on the fly; a scheduled job stores the ones that have
+// come due. The job only moves a series' high-water mark forward with a compare-and-set in the same
+// transaction as the inserts, so a restarted or overlapping run never posts an occurrence twice.
+@Service
+public class RecurringTransactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringTransactionService.class);
+
+    private static final String ADVANCE_EXPENSE_SQL =
+        "UPDATE expenses SET recurrence_posted_through = ? WHERE id = ? AND recurrence_posted_through = ?";
+    private static final String ADVANCE_INCOME_SQL =
+        "UPDATE incomes SET recurrence_posted_through = ? WHERE id = ? AND recurrence_posted_through = ?";
+    private static final String INSERT_EXPENSE_SQL =
+        "INSERT INTO expenses (amount, description, category_id, user_id, account_id, expense_date, created_at, " +
+        "updated_at, notes, recurring_type, recurring_source_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'NONE', ?)";
+    private static final String INSERT_INCOME_SQL =
+        "INSERT INTO incomes (amount, description, category_id, user_id, account_id, income_date, created_at, " +
+        "updated_at, notes, recurring_type, recurring_source_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'NONE', ?)";
+    private static final String ACCOUNT_BALANCE_SQL =
+        "UPDATE accounts SET balance = balance - ?, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private SpendingForecastService spendingForecastService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${recurring.posting.workers:4}")
+    private int workers;
+
+    @Value("${recurring.posting.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${recurring.posting.max-occurrences-per-series:366}")
+    private int maxOccurrencesPerSeries;
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+    // One posting run at a time; held across JDBC and worker waits, so not synchronized
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "recurring-posting-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Unsaved expenses for the occurrences of the user's series in [from, to] that aren't stored yet
+    @Transactional(readOnly = true)
+    public List<Expense> projectExpenses(Long userId, LocalDateTime from, LocalDateTime to) {
+        List<Expense> projected = new ArrayList<>();
+        for (Expense series : expenseRepository.findRecurringSeriesByUserId(userId, Expense.RecurringType.NONE, to)) {
+            for (LocalDateTime date : occurrences(series.getExpenseDate(), series.getRecurrencePostedThrough(),
+                    unitOf(series.getRecurringType().name()), from, to, Integer.MAX_VALUE)) {
+                Expense occurrence = new Expense(series.getAmount(), series.getDescription(), series.getCategory(), series.getUser());
+                occurrence.setAccount(series.getAccount());
+                occurrence.setNotes(series.getNotes());
+                occurrence.setExpenseDate(date);
+                occurrence.setRecurringSourceId(series.getId());
+                projected.add(occurrence);
+            }
+        }
+        return projected;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Income> projectIncomes(Long userId, LocalDateTime from, LocalDateTime to) {
+        List<Income> projected = new ArrayList<>();
+        for (Income series : incomeRepository.findRecurringSeriesByUserId(userId, Income.RecurringType.NONE, to)) {
+            for (LocalDateTime date : occurrences(series.getIncomeDate(), series.getRecurrencePostedThrough(),
+                    unitOf(series.getRecurringType().name()), from, to, Integer.MAX_VALUE)) {
+                Income occurrence = new Income(series.getAmount(), series.getDescription(), series.getCategory(), series.getUser());
+                occurrence.setAccount(series.getAccount());
+                occurrence.setNotes(series.getNotes());
+                occurrence.setIncomeDate(date);
+                occurrence.setRecurringSourceId(series.getId());
+                projected.add(occurrence);
+            }
+        }
+        return projected;
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal projectedExpenseTotal(Long userId, LocalDateTime from, LocalDateTime to) {
+        return total(projectExpenses(userId, from, to), Expense::getAmount);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal projectedIncomeTotal(Long userId, LocalDateTime from, LocalDateTime to) {
+        return total(projectIncomes(userId, from, to), Income::getAmount);
+    }
+
+    // Per-day totals from a single read of the user's series, for views that cover a whole month
+    @Transactional(readOnly = true)
+    public Map<LocalDate, BigDecimal> projectedExpenseTotalsByDay(Long userId, LocalDateTime from, LocalDateTime to) {
+        return totalsByDay(projectExpenses(userId, from, to), expense -> expense.getExpenseDate().toLocalDate(), Expense::getAmount);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<LocalDate, BigDecimal> projectedIncomeTotalsByDay(Long userId, LocalDateTime from, LocalDateTime to) {
+        return totalsByDay(projectIncomes(userId, from, to), income -> income.getIncomeDate().toLocalDate(), Income::getAmount);
+    }
+
+    @Scheduled(cron = "${recurring.posting.cron:0 5 * * * *}")
+    public void scheduledPosting() {
+        postDue(LocalDateTime.now());
+    }
+
+    public PostingResult postDue(LocalDateTime now) {
+        lock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            // Occurrences posted by this run share a created_at, which is how they are found again for indexing
+            LocalDateTime postedAt = now.truncatedTo(ChronoUnit.SECONDS);
+
+            List<Long> expenseIds = new ArrayList<>();
+            for (Expense.RecurringType type : Expense.RecurringType.values()) {
+                if (type != Expense.RecurringType.NONE) {
+                    expenseIds.addAll(expenseRepository.findRecurringIdsDue(type, now.minusDays(shortestPeriodDays(type.name()))));
+                }
+            }
+            List<Long> incomeIds = new ArrayList<>();
+            for (Income.RecurringType type : Income.RecurringType.values()) {
+                if (type != Income.RecurringType.NONE) {
+                    incomeIds.addAll(incomeRepository.findRecurringIdsDue(type, now.minusDays(shortestPeriodDays(type.name()))));
+                }
+            }
+
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int from = 0; from < expenseIds.size(); from += chunkSize) {
+                List<Long> chunk = expenseIds.subList(from, Math.min(from + chunkSize, expenseIds.size()));
+                futures.add(executor.submit(() -> postExpenseChunk(chunk, now, postedAt)));
+            }
+            for (int from = 0; from < incomeIds.size(); from += chunkSize) {
+                List<Long> chunk = incomeIds.subList(from, Math.min(from + chunkSize, incomeIds.size()));
+                futures.add(executor.submit(() -> postIncomeChunk(chunk, now, postedAt)));
+            }
+
+            int occurrences = 0;
+            int failedChunks = 0;
+            for (Future<Integer> future : futures) {
+                try {
+                    occurrences += future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Recurring posting interrupted", e);
+                } catch (ExecutionException e) {
+                    failedChunks++;
+                    logger.error("Recurring posting chunk failed", e.getCause());
+                }
+            }
+
+            PostingResult result = new PostingResult(expenseIds.size() + incomeIds.size(), occurrences, failedChunks,
+                System.currentTimeMillis() - started);
+            logger.info("Recurring posting: {} occurrences from {} series in {} ms ({} failed chunks)",
+                result.occurrences(), result.series(), result.durationMs(), result.failedChunks());
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Each chunk commits independently; the mark and the rows it covers always commit together
+    private int postExpenseChunk(List<Long> seriesIds, LocalDateTime now, LocalDateTime postedAt) {
+        Integer posted = transactionTemplate.execute(status -> {
+            List<Expense> due = new ArrayList<>();
+            List<List<LocalDateTime>> dueDates = new ArrayList<>();
+            List<Object[]> advances = new ArrayList<>();
+            for (Expense series : expenseRepository.findAllById(seriesIds)) {
+                if (series.getRecurringType() == Expense.RecurringType.NONE || series.getRecurrencePostedThrough() == null) {
+                    continue;
+                }
+                List<LocalDateTime> dates = occurrences(series.getExpenseDate(), series.getRecurrencePostedThrough(),
+                    unitOf(series.getRecurringType().name()), null, now, maxOccurrencesPerSeries);
+                if (!dates.isEmpty()) {
+                    due.add(series);
+                    dueDates.add(dates);
+                    advances.add(new Object[] {dates.get(dates.size() - 1), series.getId(), series.getRecurrencePostedThrough()});
+                }
+            }
+            if (due.isEmpty()) {
+                return 0;
+            }
+
+            // A series whose mark moved since it was read belongs to another run, which posts it instead
+            int[] claimed = jdbcTemplate.batchUpdate(ADVANCE_EXPENSE_SQL, advances);
+            List<Object[]> inserts = new ArrayList<>();
+            // Per user and category: a series to reach the entities through, and minor units spent per day
+            Map<List<Long>, Expense> budgetSeries = new HashMap<>();
+            Map<List<Long>, Map<LocalDate, Long>> spentByBudget = new HashMap<>();
+            Map<Long, Long> spentByAccount = new HashMap<>();
+            Set<Long> postedSeries = new HashSet<>();
+            for (int i = 0; i < due.size(); i++) {
+                if (claimed[i] != 1) {
+                    continue;
+                }
+                Expense series = due.get(i);
+                Long userId = series.getUser().getId();
+                Long categoryId = series.getCategory().getId();
+                Long accountId = series.getAccount() != null ? series.getAccount().getId() : null;
+                List<Long> budgetKey = List.of(userId, categoryId);
+                budgetSeries.putIfAbsent(budgetKey, series);
+                Map<LocalDate, Long> spentByDay = spentByBudget.computeIfAbsent(budgetKey, key -> new TreeMap<>());
+                long amountEach = Money.toMinor(series.getAmount());
+                for (LocalDateTime date : dueDates.get(i)) {
+                    inserts.add(new Object[] {series.getAmount(), series.getDescription(), categoryId, userId, accountId,
+                        date, postedAt, postedAt, series.getNotes(), series.getId()});
+                    spentByDay.merge(date.toLocalDate(), amountEach, Money::add);
+                }
+                long amount = Math.multiplyExact(amountEach, (long) dueDates.get(i).size());
+                if (accountId != null) {
+                    spentByAccount.merge(accountId, amount, Money::add);
+                }
+                postedSeries.add(series.getId());
+            }
+            if (inserts.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.batchUpdate(INSERT_EXPENSE_SQL, inserts);
+
+            // Same path as ExpenseService: budget alerts go out after this chunk commits, and the forecast books
+            // each occurrence on its own day
+            spentByBudget.forEach((key, minorByDay) -> {
+                Expense series = budgetSeries.get(key);
+                Map<LocalDate, BigDecimal> spentByDay = new TreeMap<>();
+                minorByDay.forEach((day, minor) -> spentByDay.put(day, Money.toBigDecimal(minor)));
+                budgetService.addPostedSpending(series.getUser(), series.getCategory(), spentByDay);
+                spentByDay.forEach((day, spent) ->
+                    spendingForecastService.recordSpending(series.getUser(), series.getCategory(), day, spent));
+            });
+
+            List<Object[]> accountUpdates = new ArrayList<>();
+            spentByAccount.forEach((accountId, amount) ->
+                accountUpdates.add(new Object[] {Money.toBigDecimal(amount), postedAt, accountId}));
+            if (!accountUpdates.isEmpty()) {
+                jdbcTemplate.batchUpdate(ACCOUNT_BALANCE_SQL, accountUpdates);
+            }
+
+            expenseRepository.findPostedOccurrences(postedSeries, postedAt).forEach(transactionSearchService::indexExpense);
+            return inserts.size();
+        });
+        return posted != null ? posted : 0;
+    }
+
+    // Incomes don't touch budgets or account balances, matching IncomeService
+    private int postIncomeChunk(List<Long> seriesIds, LocalDateTime now, LocalDateTime postedAt) {
+        Integer posted = transactionTemplate.execute(status -> {
+            List<Income> due = new ArrayList<>();
+            List<List<LocalDateTime>> dueDates = new ArrayList<>();
+            List<Object[]> advances = new ArrayList<>();
+            for (Income series : incomeRepository.findAllById(seriesIds)) {
+                if (series.getRecurringType() == Income.RecurringType.NONE || series.getRecurrencePostedThrough() == null) {
+                    continue;
+                }
+                List<LocalDateTime> dates = occurrences(series.getIncomeDate(), series.getRecurrencePostedThrough(),
+                    unitOf(series.getRecurringType().name()), null, now, maxOccurrencesPerSeries);
+                if (!dates.isEmpty()) {
+                    due.add(series);
+                    dueDates.add(dates);
+                    advances.add(new Object[] {dates.get(dates.size() - 1), series.getId(), series.getRecurrencePostedThrough()});
+                }
+            }
+            if (due.isEmpty()) {
+                return 0;
+            }
+
+            int[] claimed = jdbcTemplate.batchUpdate(ADVANCE_INCOME_SQL, advances);
+            List<Object[]> inserts = new ArrayList<>();
+            Set<Long> postedSeries = new HashSet<>();
+            for (int i = 0; i < due.size(); i++) {
+                if (claimed[i] != 1) {
+                    continue;
+                }
+                Income series = due.get(i);
+                Long accountId = series.getAccount() != null ? series.getAccount().getId() : null;
+                for (LocalDateTime date : dueDates.get(i)) {
+                    inserts.add(new Object[] {series.getAmount(), series.getDescription(), series.getCategory().getId(),
+                        series.getUser().getId(), accountId, date, postedAt, postedAt, series.getNotes(), series.getId()});
+                }
+                postedSeries.add(series.getId());
+            }
+            if (inserts.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.batchUpdate(INSERT_INCOME_SQL, inserts);
+
+            incomeRepository.findPostedOccurrences(postedSeries, postedAt).forEach(transactionSearchService::indexIncome);
+            return inserts.size();
+        });
+        return posted != null ? posted : 0;
+    }
+
+    // Occurrences after the high-water mark that fall in [from, to]; a null from means no lower bound
+    static List<LocalDateTime> occurrences(LocalDateTime anchor, LocalDateTime postedThrough, ChronoUnit unit,
+                                           LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> dates = new ArrayList<>();
+        if (anchor == null || unit == null) {
+            return dates;
+        }
+        LocalDateTime after = postedThrough != null && postedThrough.isAfter(anchor) ? postedThrough : anchor;
+        if (from != null && from.isAfter(after)) {
+            after = from.minusNanos(1);
+        }
+        for (long k = firstIndexAfter(anchor, unit, after); dates.size() < limit; k++) {
+            LocalDateTime date = anchor.plus(k, unit);
+            if (date.isAfter(to)) {
+                break;
+            }
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    // Smallest k with anchor + k units strictly after the given instant
+    static long firstIndexAfter(LocalDateTime anchor, ChronoUnit unit, LocalDateTime after) {
+        if (after.isBefore(anchor)) {
+            return 0;
+        }
+        // between() undercounts around month ends (Jan 31 -> Feb 28 is zero months), so settle the estimate
+        long k = Math.max(0, unit.between(anchor, after));
+        while (k > 0 && anchor.plus(k - 1, unit).isAfter(after)) {
+            k--;
+        }
+        while (!anchor.plus(k, unit).isAfter(after)) {
+            k++;
+        }
+        return k;
+    }
+
+    static ChronoUnit unitOf(String recurringType) {
+        switch (recurringType) {
+            case "DAILY": return ChronoUnit.DAYS;
+            case "WEEKLY": return ChronoUnit.WEEKS;
+            case "MONTHLY": return ChronoUnit.MONTHS;
+            case "YEARLY": return ChronoUnit.YEARS;
+            default: return null;
+        }
+    }
+
+    // Shortest possible gap between occurrences, so a series is only picked up once one can be due
+    private static long shortestPeriodDays(String recurringType) {
+        switch (recurringType) {
+            case "WEEKLY": return 7;
+            case "MONTHLY": return 28;
+            case "YEARLY": return 365;
+            default: return 1;
+        }
+    }
+
+    private static <T> BigDecimal total(List<T> items, Function<T, BigDecimal> amount) {
+        long total = 0L;
+        for (T item : items) {
+            total = Money.add(total, Money.toMinor(amount.apply(item)));
+        }
+        return Money.toBigDecimal(total);
+    }
+
+    private static <T> Map<LocalDate, BigDecimal> totalsByDay(List<T> items, Function<T, LocalDate> day,
+                                                              Function<T, BigDecimal> amount) {
+        Map<LocalDate, Long> minorTotals = new HashMap<>();
+        for (T item : items) {
+            minorTotals.merge(day.apply(item), Money.toMinor(amount.apply(item)), Money::add);
+        }
+        Map<LocalDate, BigDecimal> totals = new HashMap<>();
+        minorTotals.forEach((date, total) -> totals.put(date, Money.toBigDecimal(total)));
+        return totals;
+    }
+
+    public record PostingResult(int series, int occurrences, int failedChunks, long durationMs) {}
+}
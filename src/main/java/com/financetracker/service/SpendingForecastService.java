@@ -0,0 +1,133 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.BudgetResponse;
+import com.financetracker.model.Budget;
+import com.financetracker.model.Category;
+import com.financetracker.model.SpendingStats;
+import com.financetracker.model.User;
+import com.financetracker.repository.SpendingStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keeps an exponentially weighted daily burn rate per (user, category) and projects budget outcomes from it,
+// so forecasts never need to scan expenses. Writers lock the row for the rest of their transaction; the first
+// writer for a pair inserts it behind a JDBC savepoint, so losing that race just means locking the winner's row.
+@Service
+@Transactional
+public class SpendingForecastService {
+
+    // SQLSTATE for a unique constraint violation, the same on H2 and PostgreSQL
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String INSERT_STATS_SQL =
+        "INSERT INTO spending_stats (user_id, category_id, daily_mean, daily_variance, observed_days, " +
+        "current_day_total, updated_at, version) VALUES (?, ?, 0, 0, 0, 0, ?, 0)";
+
+    @Autowired
+    private SpendingStatsRepository spendingStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${budget.forecast.alpha:0.1}")
+    private double alpha;
+
+    // New spending, booked on the day it happened; future-dated expenses are not spending yet
+    public void recordSpending(User user, Category category, LocalDate day, BigDecimal amount) {
+        if (day.isAfter(LocalDate.now())) {
+            return;
+        }
+        SpendingStats stats = lockOrCreate(user.getId(), category.getId());
+        stats.record(day, amount.doubleValue(), alpha);
+        spendingStatsRepository.save(stats);
+    }
+
+    // An edit or deletion of earlier spending; never folded into the rate as spending of its own
+    public void correctSpending(User user, Category category, LocalDate day, BigDecimal delta) {
+        spendingStatsRepository.findForUpdate(user.getId(), category.getId())
+            .ifPresent(stats -> stats.correct(day, delta.doubleValue()));
+    }
+
+    private SpendingStats lockOrCreate(Long userId, Long categoryId) {
+        return spendingStatsRepository.findForUpdate(userId, categoryId).orElseGet(() -> {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                Savepoint savepoint = connection.setSavepoint();
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_STATS_SQL)) {
+                    insert.setLong(1, userId);
+                    insert.setLong(2, categoryId);
+                    insert.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                    insert.executeUpdate();
+                    connection.releaseSavepoint(savepoint);
+                } catch (SQLException e) {
+                    // Another transaction created the row first; undo only the insert and wait for its lock
+                    connection.rollback(savepoint);
+                    if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                        throw e;
+                    }
+                }
+                return null;
+            });
+            return spendingStatsRepository.findForUpdate(userId, categoryId)
+                .orElseThrow(() -> new RuntimeException("Spending stats not found"));
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, SpendingStats> getStatsByCategory(Long userId) {
+        return spendingStatsRepository.findByUserId(userId).stream()
+            .collect(Collectors.toMap(stats -> stats.getCategory().getId(), Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public SpendingStats getStats(Long userId, Long categoryId) {
+        return spendingStatsRepository.findByUserIdAndCategoryId(userId, categoryId).orElse(null);
+    }
+
+    public void applyForecast(BudgetResponse response, Budget budget, SpendingStats stats) {
+        if (stats == null || budget.getEndDate() == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate periodEnd = budget.getEndDate().toLocalDate();
+        if (periodEnd.isBefore(today)) {
+            return;
+        }
+
+        // Days without spending since the last expense still count, so roll a copy up to today first. Until a
+        // full day has been folded in, the open day's total is the only signal we have.
+        stats = stats.rolledTo(today, alpha);
+        double dailyRate = Math.max(0.0, stats.getObservedDays() > 0 ? stats.getDailyMean() : stats.getCurrentDayTotal());
+        long remainingDays = ChronoUnit.DAYS.between(today, periodEnd);
+        BigDecimal spent = budget.getSpentAmount();
+
+        response.setDailyBurnRate(dailyRate);
+        response.setDailyBurnRateStdDev(Math.sqrt(Math.max(0.0, stats.getDailyVariance())));
+        response.setProjectedSpend(spent.add(BigDecimal.valueOf(dailyRate * remainingDays))
+            .setScale(2, RoundingMode.HALF_UP));
+
+        BigDecimal headroom = budget.getBudgetLimit().subtract(spent);
+        if (headroom.signum() > 0 && dailyRate > 0) {
+            long daysToLimit = (long) Math.ceil(headroom.doubleValue() / dailyRate);
+            LocalDate limitDate = today.plusDays(daysToLimit);
+            if (!limitDate.isAfter(periodEnd)) {
+                response.setProjectedLimitDate(limitDate);
+            }
+        }
+    }
+}
@@ -0,0 +1,561 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Budget;
+import com.financetracker.model.IncomeCategory;
+import com.financetracker.model.Money;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.IncomeCategoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Fills the database with synthetic users and several years of history for benchmarks and load tests.
+// Only active under the "datagen" profile. Each user's data comes from its own random stream derived from
+// the seed and the user's index, so partitions can be generated in parallel. Ids are assigned here rather than
+// by the identity columns: each partition takes the block after the previous partition's, so the same seed,
+// user count and end date on the same starting database always produce the same rows, ids and references
+// included. The application should not take writes while this runs. Runs after DataInitializer, which
+// provides the categories.
+@Service
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    private static final String USERNAME_PREFIX = "synthetic-";
+
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (id, username, email, password, first_name, last_name, created_at, updated_at, role) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'USER')";
+    private static final String INSERT_ACCOUNT_SQL =
+        "INSERT INTO accounts (id, name, account_type, balance, currency_code, user_id, is_active, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, 'USD', ?, TRUE, ?, ?)";
+    private static final String INSERT_EXPENSE_SQL =
+        "INSERT INTO expenses (id, amount, description, category_id, user_id, account_id, expense_date, created_at, " +
+        "updated_at, recurring_type, recurring_source_id, recurrence_posted_through) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_INCOME_SQL =
+        "INSERT INTO incomes (id, amount, description, category_id, user_id, account_id, income_date, created_at, " +
+        "updated_at, recurring_type, recurring_source_id, recurrence_posted_through) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BUDGET_SQL =
+        "INSERT INTO budgets (id, name, budget_limit, spent_amount, category_id, user_id, start_date, end_date, created_at, " +
+        "updated_at, notification_threshold, is_active, period_type, threshold_amount, status) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 80, TRUE, 'MONTHLY', ?, ?)";
+    private static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance = ? WHERE id = ?";
+    private static final List<String> TABLES = List.of("users", "accounts", "expenses", "incomes", "budgets");
+
+    // Typical amount per default category; anything else gets the fallback
+    private static final Map<String, Double> TYPICAL_AMOUNTS = Map.ofEntries(
+        Map.entry("Food & Dining", 28.0), Map.entry("Transport", 18.0), Map.entry("Shopping", 55.0),
+        Map.entry("Entertainment", 25.0), Map.entry("Bills & Utilities", 90.0), Map.entry("Healthcare", 60.0),
+        Map.entry("Education", 80.0), Map.entry("Groceries", 45.0), Map.entry("Gas & Fuel", 50.0),
+        Map.entry("Investment", 250.0), Map.entry("Gifts & Donations", 40.0));
+    private static final double FALLBACK_AMOUNT = 35.0;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IncomeCategoryRepository incomeCategoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${datagen.users:1000}")
+    private int users;
+
+    @Value("${datagen.years:3}")
+    private int years;
+
+    @Value("${datagen.expenses-per-month:40}")
+    private int expensesPerMonth;
+
+    @Value("${datagen.extra-incomes-per-month:1}")
+    private int extraIncomesPerMonth;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    // Empty means today; pin it to get the same dates on every run
+    @Value("${datagen.end-date:}")
+    private String endDate;
+
+    @Value("${datagen.password:password}")
+    private String password;
+
+    @Value("${datagen.workers:4}")
+    private int workers;
+
+    @Value("${datagen.partition-size:100}")
+    private int partitionSize;
+
+    @Value("${datagen.batch-size:5000}")
+    private int batchSize;
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "datagen-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void run(String... args) {
+        generate();
+    }
+
+    public GenerationResult generate() {
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM users WHERE username LIKE '" + USERNAME_PREFIX + "%'", Integer.class);
+        if (existing != null && existing > 0) {
+            logger.info("Synthetic data already present ({} users), skipping generation", existing);
+            return new GenerationResult(0, 0, 0, 0, 0, 0);
+        }
+
+        long started = System.currentTimeMillis();
+        LocalDate end = endDate.isBlank() ? LocalDate.now() : LocalDate.parse(endDate);
+        List<CategoryProfile> categories = categoryRepository.findAll().stream()
+            .sorted((a, b) -> a.getId().compareTo(b.getId()))
+            .map(c -> new CategoryProfile(c.getId(), c.getName(), TYPICAL_AMOUNTS.getOrDefault(c.getName(), FALLBACK_AMOUNT)))
+            .collect(Collectors.toList());
+        List<Long> incomeCategoryIds = incomeCategoryRepository.findAllByOrderByName().stream()
+            .map(IncomeCategory::getId).sorted().collect(Collectors.toList());
+        if (categories.isEmpty() || incomeCategoryIds.isEmpty()) {
+            throw new RuntimeException("Categories must exist before generating synthetic data");
+        }
+
+        long accounts = 0, expenses = 0, incomes = 0, budgets = 0;
+        List<Long> userIds = new ArrayList<>();
+        try {
+            // User i gets the i-th id after the current maximum
+            String passwordHash = passwordEncoder.encode(password);
+            LocalDateTime joined = end.minusYears(years).atStartOfDay();
+            long firstUserId = nextId("users");
+            List<Object[]> userRows = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                userIds.add(firstUserId + i);
+                userRows.add(new Object[] {firstUserId + i, USERNAME_PREFIX + i, USERNAME_PREFIX + i + "@example.com",
+                    passwordHash, "Synthetic", "User " + i, joined, joined});
+            }
+            insertInBatches(INSERT_USER_SQL, userRows);
+
+            // Each partition learns where its id block starts from the one before it, which only has to have
+            // generated its rows, not inserted them
+            List<Future<GenerationResult>> futures = new ArrayList<>();
+            CompletableFuture<IdBlock> previous = CompletableFuture.completedFuture(
+                new IdBlock(nextId("accounts"), nextId("expenses"), nextId("incomes"), nextId("budgets")));
+            for (int from = 0; from < userIds.size(); from += partitionSize) {
+                int first = from;
+                List<Long> partition = userIds.subList(from, Math.min(from + partitionSize, userIds.size()));
+                CompletableFuture<IdBlock> start = previous;
+                CompletableFuture<IdBlock> next = new CompletableFuture<>();
+                futures.add(executor.submit(() -> generatePartition(first, partition, categories, incomeCategoryIds, end,
+                    start, next)));
+                previous = next;
+            }
+
+            for (Future<GenerationResult> future : futures) {
+                try {
+                    GenerationResult partition = future.get();
+                    accounts += partition.accounts();
+                    expenses += partition.expenses();
+                    incomes += partition.incomes();
+                    budgets += partition.budgets();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Synthetic data generation interrupted", e);
+                } catch (ExecutionException e) {
+                    throw new RuntimeException("Synthetic data generation failed", e.getCause());
+                }
+            }
+        } finally {
+            // Explicit ids do not move the identity columns, so later inserts would collide without this
+            TABLES.forEach(this::restartIdentity);
+        }
+
+        GenerationResult result = new GenerationResult(userIds.size(), accounts, expenses, incomes, budgets,
+            System.currentTimeMillis() - started);
+        logger.info("Generated {} users, {} accounts, {} expenses, {} incomes and {} budgets in {} ms",
+            result.users(), result.accounts(), result.expenses(), result.incomes(), result.budgets(), result.durationMs());
+        return result;
+    }
+
+    // One partition commits as one transaction; its users' rows never depend on other partitions. Its ids run
+    // from start, and next is completed with the first ids after them before anything is inserted
+    private GenerationResult generatePartition(int firstIndex, List<Long> userIds, List<CategoryProfile> categories,
+                                               List<Long> incomeCategoryIds, LocalDate end,
+                                               CompletableFuture<IdBlock> start, CompletableFuture<IdBlock> next) {
+        List<UserHistory> histories = new ArrayList<>();
+        IdBlock block;
+        try {
+            for (int i = 0; i < userIds.size(); i++) {
+                int userIndex = firstIndex + i;
+                histories.add(generateUser(userIds.get(i), new SplittableRandom(seed * 1_000_003L + userIndex),
+                    categories, incomeCategoryIds, end));
+            }
+            block = start.join();
+            next.complete(block.after(histories));
+        } catch (RuntimeException e) {
+            // Later partitions wait on this one's block, so they must fail too rather than hang
+            next.completeExceptionally(e);
+            throw e;
+        }
+
+        AtomicLong accountIds = new AtomicLong(block.account());
+        AtomicLong expenseIds = new AtomicLong(block.expense());
+        AtomicLong incomeIds = new AtomicLong(block.income());
+        AtomicLong budgetIds = new AtomicLong(block.budget());
+        GenerationResult result = transactionTemplate.execute(status -> {
+            // Accounts first: transactions reference them and balances are settled from the transactions at the end
+            List<Object[]> accountRows = new ArrayList<>();
+            for (UserHistory history : histories) {
+                for (AccountType type : history.accountTypes) {
+                    long accountId = accountIds.getAndIncrement();
+                    history.accountIds.add(accountId);
+                    accountRows.add(new Object[] {accountId, type.label, type.name(), BigDecimal.ZERO, history.userId,
+                        history.joined, history.joined});
+                }
+            }
+            insertInBatches(INSERT_ACCOUNT_SQL, accountRows);
+
+            // Series rows next, so their occurrences can point at them
+            insertInBatches(INSERT_EXPENSE_SQL, seriesRows(histories, true, expenseIds));
+            insertInBatches(INSERT_INCOME_SQL, seriesRows(histories, false, incomeIds));
+
+            long expenses = 0, incomes = 0;
+            List<Object[]> expenseRows = new ArrayList<>();
+            List<Object[]> incomeRows = new ArrayList<>();
+            List<Object[]> budgetRows = new ArrayList<>();
+            List<Object[]> balanceRows = new ArrayList<>();
+            for (UserHistory history : histories) {
+                expenses += history.addTransactionRows(expenseRows, true, expenseIds);
+                incomes += history.addTransactionRows(incomeRows, false, incomeIds);
+                for (Object[] row : history.budgetRows) {
+                    Object[] budgetRow = new Object[row.length + 1];
+                    budgetRow[0] = budgetIds.getAndIncrement();
+                    System.arraycopy(row, 0, budgetRow, 1, row.length);
+                    budgetRows.add(budgetRow);
+                }
+                for (int a = 0; a < history.accountIds.size(); a++) {
+                    balanceRows.add(new Object[] {Money.toBigDecimal(history.balances[a]), history.accountIds.get(a)});
+                }
+                if (expenseRows.size() >= batchSize) {
+                    insertInBatches(INSERT_EXPENSE_SQL, expenseRows);
+                    expenseRows.clear();
+                }
+                if (incomeRows.size() >= batchSize) {
+                    insertInBatches(INSERT_INCOME_SQL, incomeRows);
+                    incomeRows.clear();
+                }
+            }
+            insertInBatches(INSERT_EXPENSE_SQL, expenseRows);
+            insertInBatches(INSERT_INCOME_SQL, incomeRows);
+            insertInBatches(INSERT_BUDGET_SQL, budgetRows);
+            insertInBatches(UPDATE_BALANCE_SQL, balanceRows);
+            return new GenerationResult(userIds.size(), accountRows.size(), expenses, incomes, budgetRows.size(), 0);
+        });
+        return result != null ? result : new GenerationResult(0, 0, 0, 0, 0, 0);
+    }
+
+    private UserHistory generateUser(Long userId, SplittableRandom random, List<CategoryProfile> categories,
+                                     List<Long> incomeCategoryIds, LocalDate end) {
+        UserHistory history = new UserHistory(userId, end.minusYears(years).atStartOfDay());
+        history.accountTypes.add(AccountType.CHECKING);
+        if (random.nextInt(10) < 6) {
+            history.accountTypes.add(AccountType.SAVINGS);
+        }
+        if (random.nextInt(10) < 5) {
+            history.accountTypes.add(AccountType.CREDIT_CARD);
+        }
+        history.balances = new long[history.accountTypes.size()];
+        history.balances[0] = 100_000 + random.nextInt(500_000);
+        if (history.accountTypes.contains(AccountType.SAVINGS)) {
+            history.balances[history.accountTypes.indexOf(AccountType.SAVINGS)] = random.nextInt(5_000_000);
+        }
+
+        // Zipf-like preference over a per-user shuffle of the categories: a few dominate each user's spending
+        int[] order = random.ints(0, Integer.MAX_VALUE).limit(categories.size()).toArray();
+        List<CategoryProfile> preferred = new ArrayList<>(categories);
+        preferred.sort((a, b) -> Integer.compare(order[categories.indexOf(a)], order[categories.indexOf(b)]));
+        double[] cumulative = new double[preferred.size()];
+        double total = 0;
+        for (int k = 0; k < preferred.size(); k++) {
+            total += 1.0 / Math.pow(k + 1, 1.1);
+            cumulative[k] = total;
+        }
+
+        LocalDate firstMonth = end.minusYears(years).withDayOfMonth(1);
+        int months = years * 12 + 1;
+        long salaryMinor = 250_000 + random.nextInt(600_000);
+        Long salaryCategory = incomeCategoryIds.get(0);
+
+        // Recurring series: salary, rent or utilities, and a couple of subscriptions
+        history.incomeSeries.add(series(random, "Salary", salaryCategory, salaryMinor, 0, firstMonth, 1 + random.nextInt(5), months, end));
+        CategoryProfile bills = categoryNamed(categories, "Bills & Utilities", preferred.get(0));
+        history.expenseSeries.add(series(random, "Rent", bills.id(), salaryMinor * (25 + random.nextInt(15)) / 100,
+            0, firstMonth, 1, months, end));
+        CategoryProfile entertainment = categoryNamed(categories, "Entertainment", preferred.get(1));
+        for (int s = 0; s < 1 + random.nextInt(3); s++) {
+            history.expenseSeries.add(series(random, "Subscription " + (s + 1), entertainment.id(), 799 + random.nextInt(1500),
+                accountIndex(history, random), firstMonth.plusMonths(random.nextInt(12)), 1 + random.nextInt(28), months, end));
+        }
+
+        Map<Long, Long> spentThisMonth = new HashMap<>();
+        LocalDate currentMonth = end.withDayOfMonth(1);
+        for (int m = 0; m < months; m++) {
+            LocalDate month = firstMonth.plusMonths(m);
+            int lastDay = month.equals(currentMonth) ? end.getDayOfMonth() : month.lengthOfMonth();
+            int count = expensesPerMonth / 2 + random.nextInt(expensesPerMonth + 1);
+            for (int e = 0; e < count; e++) {
+                double roll = random.nextDouble() * total;
+                int k = 0;
+                while (cumulative[k] < roll) {
+                    k++;
+                }
+                CategoryProfile category = preferred.get(k);
+                long amount = Math.max(100, Math.round(category.typicalAmount() * 100 * Math.exp(0.6 * random.nextGaussian())));
+                LocalDateTime date = month.withDayOfMonth(1 + random.nextInt(lastDay)).atTime(randomTime(random));
+                int account = accountIndex(history, random);
+                history.expenses.add(new Transaction(amount, category.name(), category.id(), account, date));
+                history.balances[account] -= amount;
+                if (month.equals(currentMonth)) {
+                    spentThisMonth.merge(category.id(), amount, Long::sum);
+                }
+            }
+            for (int i = 0; i < extraIncomesPerMonth * 2; i++) {
+                if (random.nextInt(2) == 0) {
+                    LocalDateTime date = month.withDayOfMonth(1 + random.nextInt(lastDay)).atTime(randomTime(random));
+                    long amount = 5_000 + random.nextInt(100_000);
+                    history.incomes.add(new Transaction(amount, "Side income",
+                        incomeCategoryIds.get(random.nextInt(incomeCategoryIds.size())), 0, date));
+                    history.balances[0] += amount;
+                }
+            }
+        }
+        for (Series series : history.expenseSeries) {
+            history.balances[series.account()] -= series.amountMinor() * series.dates().size();
+            if (!series.dates().isEmpty() && !series.dates().get(series.dates().size() - 1).toLocalDate().isBefore(currentMonth)) {
+                spentThisMonth.merge(series.categoryId(), series.amountMinor(), Long::sum);
+            }
+        }
+        for (Series series : history.incomeSeries) {
+            history.balances[series.account()] += series.amountMinor() * series.dates().size();
+        }
+
+        // Current-month budgets on the user's top categories; limits around usual spending give a mix of statuses
+        LocalDateTime periodStart = Budget.PeriodType.MONTHLY.periodStart(end.atStartOfDay());
+        LocalDateTime periodEnd = Budget.PeriodType.MONTHLY.periodEnd(end.atStartOfDay());
+        for (int b = 0; b < 3 + random.nextInt(4) && b < preferred.size(); b++) {
+            CategoryProfile category = preferred.get(b);
+            long spent = spentThisMonth.getOrDefault(category.id(), 0L);
+            long usual = Math.round(category.typicalAmount() * 100 * expensesPerMonth * (cumulative[b] - (b > 0 ? cumulative[b - 1] : 0)) / total);
+            long limit = Math.max(5_000, usual * (70 + random.nextInt(70)) / 100 / 100 * 100);
+            long threshold = Money.percentOf(limit, 80);
+            String budgetStatus = spent > limit ? "EXCEEDED" : spent >= threshold ? "NEARING_LIMIT" : "ON_TRACK";
+            history.budgetRows.add(new Object[] {category.name() + " budget", Money.toBigDecimal(limit), Money.toBigDecimal(spent),
+                category.id(), userId, periodStart, periodEnd, periodStart, periodStart,
+                Money.toBigDecimal(threshold), budgetStatus});
+        }
+        return history;
+    }
+
+    private Series series(SplittableRandom random, String description, Long categoryId, long amountMinor, int account,
+                          LocalDate startMonth, int dayOfMonth, int months, LocalDate end) {
+        List<LocalDateTime> dates = new ArrayList<>();
+        LocalTime time = randomTime(random);
+        for (int m = 0; m < months; m++) {
+            LocalDate month = startMonth.plusMonths(m);
+            LocalDate date = month.withDayOfMonth(Math.min(dayOfMonth, month.lengthOfMonth()));
+            if (date.isAfter(end)) {
+                break;
+            }
+            dates.add(date.atTime(time));
+        }
+        return new Series(description, categoryId, amountMinor, account, dates);
+    }
+
+    private static CategoryProfile categoryNamed(List<CategoryProfile> categories, String name, CategoryProfile fallback) {
+        return categories.stream().filter(c -> c.name().equals(name)).findFirst().orElse(fallback);
+    }
+
+    // Card purchases when the user has a card, otherwise checking
+    private static int accountIndex(UserHistory history, SplittableRandom random) {
+        int card = history.accountTypes.indexOf(AccountType.CREDIT_CARD);
+        return card >= 0 && random.nextInt(10) < 4 ? card : 0;
+    }
+
+    private static LocalTime randomTime(SplittableRandom random) {
+        return LocalTime.of(7 + random.nextInt(15), random.nextInt(60));
+    }
+
+    private List<Object[]> seriesRows(List<UserHistory> histories, boolean expense, AtomicLong ids) {
+        List<Object[]> rows = new ArrayList<>();
+        for (UserHistory history : histories) {
+            for (Series series : expense ? history.expenseSeries : history.incomeSeries) {
+                if (series.dates().isEmpty()) {
+                    continue;
+                }
+                long seriesId = ids.getAndIncrement();
+                (expense ? history.expenseSeriesIds : history.incomeSeriesIds).add(seriesId);
+                LocalDateTime first = series.dates().get(0);
+                LocalDateTime last = series.dates().get(series.dates().size() - 1);
+                rows.add(new Object[] {seriesId, Money.toBigDecimal(series.amountMinor()), series.description(),
+                    series.categoryId(), history.userId, history.accountIds.get(series.account()), first, first, first,
+                    "MONTHLY", null, last});
+            }
+        }
+        return rows;
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max + 1 : 1;
+    }
+
+    // Same syntax on H2 and PostgreSQL identity columns
+    private void restartIdentity(String table) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+    }
+
+    private void insertInBatches(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private enum AccountType {
+        CHECKING("Checking"), SAVINGS("Savings"), CREDIT_CARD("Credit Card");
+
+        private final String label;
+
+        AccountType(String label) {
+            this.label = label;
+        }
+    }
+
+    private record CategoryProfile(Long id, String name, double typicalAmount) {}
+
+    // First id a partition may use in each table
+    private record IdBlock(long account, long expense, long income, long budget) {
+        IdBlock after(List<UserHistory> histories) {
+            long accounts = account, expenses = expense, incomes = income, budgets = budget;
+            for (UserHistory history : histories) {
+                accounts += history.accountTypes.size();
+                expenses += history.rowCount(true);
+                incomes += history.rowCount(false);
+                budgets += history.budgetRows.size();
+            }
+            return new IdBlock(accounts, expenses, incomes, budgets);
+        }
+    }
+
+    private record Transaction(long amountMinor, String description, Long categoryId, int account, LocalDateTime date) {}
+
+    private record Series(String description, Long categoryId, long amountMinor, int account, List<LocalDateTime> dates) {}
+
+    private static final class UserHistory {
+        private final Long userId;
+        private final LocalDateTime joined;
+        private final List<AccountType> accountTypes = new ArrayList<>();
+        private final List<Series> expenseSeries = new ArrayList<>();
+        private final List<Series> incomeSeries = new ArrayList<>();
+        private final List<Transaction> expenses = new ArrayList<>();
+        private final List<Transaction> incomes = new ArrayList<>();
+        private final List<Object[]> budgetRows = new ArrayList<>();
+        private final List<Long> accountIds = new ArrayList<>();
+        private final List<Long> expenseSeriesIds = new ArrayList<>();
+        private final List<Long> incomeSeriesIds = new ArrayList<>();
+        private long[] balances;
+
+        private UserHistory(Long userId, LocalDateTime joined) {
+            this.userId = userId;
+            this.joined = joined;
+        }
+
+        // Series rows included, which is how many ids the user takes in the table
+        private long rowCount(boolean expense) {
+            long rows = (expense ? expenses : incomes).size();
+            for (Series series : expense ? expenseSeries : incomeSeries) {
+                rows += series.dates().size();
+            }
+            return rows;
+        }
+
+        // Occurrences after each series' first row, then the one-off transactions; returns how many rows were added
+        // counting the series rows themselves
+        private long addTransactionRows(List<Object[]> rows, boolean expense, AtomicLong ids) {
+            long added = 0;
+            List<Series> seriesList = expense ? expenseSeries : incomeSeries;
+            List<Long> seriesIds = expense ? expenseSeriesIds : incomeSeriesIds;
+            int seriesIndex = 0;
+            for (Series series : seriesList) {
+                if (series.dates().isEmpty()) {
+                    continue;
+                }
+                Long seriesId = seriesIds.get(seriesIndex++);
+                added++;
+                for (LocalDateTime date : series.dates().subList(1, series.dates().size())) {
+                    rows.add(new Object[] {ids.getAndIncrement(), Money.toBigDecimal(series.amountMinor()), series.description(),
+                        series.categoryId(), userId, accountIds.get(series.account()), date, date, date, "NONE", seriesId, null});
+                    added++;
+                }
+            }
+            for (Transaction transaction : expense ? expenses : incomes) {
+                rows.add(new Object[] {ids.getAndIncrement(), Money.toBigDecimal(transaction.amountMinor()), transaction.description(),
+                    transaction.categoryId(), userId, accountIds.get(transaction.account()), transaction.date(),
+                    transaction.date(), transaction.date(), "NONE", null, null});
+                added++;
+            }
+            return added;
+        }
+    }
+
+    public record GenerationResult(long users, long accounts, long expenses, long incomes, long budgets, long durationMs) {}
+}
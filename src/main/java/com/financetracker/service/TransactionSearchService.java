@@ -0,0 +1,310 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.CategoryDTO;
+import com.financetracker.dto.IncomeCategoryDTO;
+import com.financetracker.dto.TransactionSearchHit;
+import com.financetracker.dto.TransactionSearchResponse;
+import com.financetracker.model.Expense;
+import com.financetracker.model.Income;
+import com.financetracker.repository.ExpenseRepository;
+import com.financetracker.repository.IncomeRepository;
+import com.financetracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over expense and income descriptions and notes.
+// Writes are queued after commit and applied in batches by a scheduled flush,
+// and the whole index can be rebuilt from the database at any time, one user at a time.
+// Documents keep the category id; names come from the catalog when hits are built, so renames show up at once.
+@Service
+public class TransactionSearchService {
+
+    public static final String EXPENSE = "EXPENSE";
+    public static final String INCOME = "INCOME";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSearchService.class);
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+
+    private final BlockingQueue<IndexOperation> pending = new LinkedBlockingQueue<>();
+    // Serialises flushes and rebuilds; a lock because rebuilds page through the database
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    public void indexExpense(Expense expense) {
+        SearchDocument document = new SearchDocument(EXPENSE, expense.getId(), expense.getAmount(),
+            expense.getDescription(), expense.getNotes(), expense.getCategory().getId(), expense.getExpenseDate());
+        enqueue(new IndexOperation(expense.getUser().getId(), document.key(), document));
+    }
+
+    public void removeExpense(Long expenseId, Long userId) {
+        enqueue(new IndexOperation(userId, documentKey(EXPENSE, expenseId), null));
+    }
+
+    public void indexIncome(Income income) {
+        SearchDocument document = new SearchDocument(INCOME, income.getId(), income.getAmount(),
+            income.getDescription(), income.getNotes(), income.getCategory().getId(), income.getIncomeDate());
+        enqueue(new IndexOperation(income.getUser().getId(), document.key(), document));
+    }
+
+    public void removeIncome(Long incomeId, Long userId) {
+        enqueue(new IndexOperation(userId, documentKey(INCOME, incomeId), null));
+    }
+
+    public TransactionSearchResponse search(Long userId, String query, String type, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        List<String> terms = tokenize(query);
+        UserIndex index = indexes.get(userId);
+        if (terms.isEmpty() || index == null) {
+            return new TransactionSearchResponse(Collections.emptyList(), pageNumber, pageSize, 0);
+        }
+
+        // Snapshots taken up front so the partition lock is never held across a catalog reload
+        CategoryCatalog.Snapshot<CategoryDTO> categories = categoryCatalog.getCategories();
+        CategoryCatalog.Snapshot<IncomeCategoryDTO> incomeCategories = categoryCatalog.getIncomeCategories();
+        List<TransactionSearchHit> hits = index.search(terms, type, document -> INCOME.equals(document.type())
+            ? nameOf(incomeCategories.get(document.categoryId()))
+            : nameOf(categories.get(document.categoryId())));
+        int from = Math.min(pageNumber * pageSize, hits.size());
+        int to = Math.min(from + pageSize, hits.size());
+        return new TransactionSearchResponse(new ArrayList<>(hits.subList(from, to)), pageNumber, pageSize, hits.size());
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.flush-interval-ms:500}")
+    public void flushPending() {
+        lock.lock();
+        try {
+            List<IndexOperation> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            while (pending.drainTo(batch, FLUSH_BATCH_SIZE) > 0) {
+                for (IndexOperation operation : batch) {
+                    UserIndex index = indexes.computeIfAbsent(operation.userId(), id -> new UserIndex());
+                    if (operation.document() == null) {
+                        index.remove(operation.key());
+                    } else {
+                        index.put(operation.key(), operation.document());
+                    }
+                }
+                batch.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Off the startup thread: searches see a partial index until it finishes, but readiness does not wait on it
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                logger.error("Search index rebuild on startup failed", e);
+            }
+        }, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Rebuilds each user's partition from the database and swaps it in, so at most one partition is held twice
+    // and flushes run between users. Queued writes for a user are applied on top of its new partition.
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        int documents = 0;
+        Set<Long> userIds = new HashSet<>(userRepository.findAllIds());
+        // Only partitions that existed before the rebuild are dropped; users who sign up meanwhile keep theirs
+        Set<Long> deleted = new HashSet<>(indexes.keySet());
+        deleted.removeAll(userIds);
+        for (Long userId : userIds) {
+            lock.lock();
+            try {
+                UserIndex index = new UserIndex();
+                documents += loadDocuments(index, EXPENSE, userId);
+                documents += loadDocuments(index, INCOME, userId);
+                indexes.put(userId, index);
+            } finally {
+                lock.unlock();
+            }
+        }
+        indexes.keySet().removeAll(deleted);
+        logger.info("Search index rebuilt with {} documents for {} users in {} ms", documents, userIds.size(),
+            System.currentTimeMillis() - started);
+        return documents;
+    }
+
+    // Row layout: id, amount, description, notes, categoryId, date
+    private int loadDocuments(UserIndex index, String type, Long userId) {
+        int documents = 0;
+        List<Object[]> rows;
+        Long afterId = 0L;
+        do {
+            rows = EXPENSE.equals(type)
+                ? expenseRepository.findSearchDocumentsAfter(userId, afterId, PageRequest.of(0, REBUILD_PAGE_SIZE))
+                : incomeRepository.findSearchDocumentsAfter(userId, afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                SearchDocument document = new SearchDocument(type, afterId, (BigDecimal) row[1],
+                    (String) row[2], (String) row[3], (Long) row[4], (LocalDateTime) row[5]);
+                index.put(document.key(), document);
+            }
+            documents += rows.size();
+        } while (rows.size() == REBUILD_PAGE_SIZE);
+        return documents;
+    }
+
+    private static String nameOf(CategoryDTO category) {
+        return category != null ? category.getName() : null;
+    }
+
+    private static String nameOf(IncomeCategoryDTO category) {
+        return category != null ? category.getName() : null;
+    }
+
+    private void enqueue(IndexOperation operation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.offer(operation);
+                }
+            });
+        } else {
+            pending.offer(operation);
+        }
+    }
+
+    private static String documentKey(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= 2) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record SearchDocument(String type, Long id, BigDecimal amount, String description, String notes,
+                                  Long categoryId, LocalDateTime date) {
+        String key() {
+            return documentKey(type, id);
+        }
+    }
+
+    private record IndexOperation(Long userId, String key, SearchDocument document) {}
+
+    // One partition per user so a query only ever touches that user's postings
+    private static final class UserIndex {
+        private final TreeMap<String, Map<String, Integer>> postings = new TreeMap<>();
+        private final Map<String, SearchDocument> documents = new HashMap<>();
+        private final Map<String, Map<String, Integer>> documentTerms = new HashMap<>();
+
+        synchronized void put(String key, SearchDocument document) {
+            remove(key);
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokenize(document.description())) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            for (String token : tokenize(document.notes())) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            documents.put(key, document);
+            documentTerms.put(key, frequencies);
+            frequencies.forEach((term, count) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, count));
+        }
+
+        synchronized void remove(String key) {
+            documents.remove(key);
+            Map<String, Integer> frequencies = documentTerms.remove(key);
+            if (frequencies == null) {
+                return;
+            }
+            for (String term : frequencies.keySet()) {
+                Map<String, Integer> postingList = postings.get(term);
+                if (postingList != null) {
+                    postingList.remove(key);
+                    if (postingList.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        // TF-IDF scoring; query terms also match as prefixes at half weight so partial merchant names work
+        synchronized List<TransactionSearchHit> search(List<String> terms, String type,
+                                                       Function<SearchDocument, String> categoryNames) {
+            Map<String, Double> scores = new HashMap<>();
+            int documentCount = documents.size();
+            for (String term : terms) {
+                for (Map.Entry<String, Map<String, Integer>> entry
+                        : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    double idf = Math.log(1.0 + (double) documentCount / entry.getValue().size());
+                    double weight = entry.getKey().equals(term) ? 1.0 : 0.5;
+                    entry.getValue().forEach((key, frequency) ->
+                        scores.merge(key, weight * (1.0 + Math.log(frequency)) * idf, Double::sum));
+                }
+            }
+
+            List<TransactionSearchHit> hits = new ArrayList<>(scores.size());
+            scores.forEach((key, score) -> {
+                SearchDocument document = documents.get(key);
+                if (document != null && (type == null || type.equalsIgnoreCase(document.type()))) {
+                    hits.add(new TransactionSearchHit(document.type(), document.id(), document.amount(),
+                        document.description(), document.notes(), categoryNames.apply(document), document.date(), score));
+                }
+            });
+            hits.sort(Comparator.comparingDouble(TransactionSearchHit::getScore).reversed()
+                .thenComparing(TransactionSearchHit::getDate, Comparator.nullsLast(Comparator.reverseOrder())));
+            return hits;
+        }
+    }
+}
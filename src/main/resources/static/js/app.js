@@ -72,7 +72,7 @@ function initializeEventListeners() {
     document.getElementById('income-category-form').addEventListener('submit', handleAddIncomeCategory);
 
     // Logout
-    document.getElementById('logout-btn').addEventListener('click', handleLogout);
+    document.getElementById('logout-btn').addEventListener('click', handleSignOut);
 
     // Modal controls
     document.getElementById('add-expense-btn').addEventListener('click', async () => {
@@ -244,6 +244,17 @@ async function handleSignup(e) {
     }
 }
 
+// Revoke the token on the server too, so a copied token stops working after logout
+function handleSignOut() {
+    if (authToken) {
+        fetch(`${API_BASE}/auth/signout`, {
+            method: 'POST',
+            headers: { Authorization: `Bearer ${authToken}` }
+        }).catch(() => {});
+    }
+    handleLogout();
+}
+
 function handleLogout() {
     authToken = null;
     currentUser = null;
@@ -0,0 +1,25 @@
+package com.financetracker;
+
+import com.financetracker.security.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Starts the full context, including the ApplicationReadyEvent listeners that rebuild in-memory state
+@SpringBootTest
+class FinanceTrackerApplicationTests {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void contextLoads() {
+    }
+
+    @Test
+    void revocationSetRebuildsOutsideACallerTransaction() {
+        assertThat(tokenRevocationService.rebuild()).isGreaterThanOrEqualTo(0);
+    }
+}
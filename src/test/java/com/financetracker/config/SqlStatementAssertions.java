@@ -0,0 +1,38 @@
+package com.financetracker.config;
+
+// Pins how many SQL statements a code path issues, using the same counter the request filter uses
+public final class SqlStatementAssertions {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private SqlStatementAssertions() {
+    }
+
+    public static SqlStatementCounter.Scope count(SqlStatementCounter counter, Action action) throws Exception {
+        counter.start();
+        try {
+            action.run();
+        } catch (Exception | Error e) {
+            counter.stop("test");
+            throw e;
+        }
+        return counter.stop("test");
+    }
+
+    public static void assertStatementCount(SqlStatementCounter.Scope scope, int expected) {
+        if (scope.getCount() != expected) {
+            throw new AssertionError("Expected " + expected + " SQL statements but " + scope.getCount()
+                + " were issued:\n  " + String.join("\n  ", scope.getStatements()));
+        }
+    }
+
+    public static void assertStatementCountAtMost(SqlStatementCounter.Scope scope, int max) {
+        if (scope.getCount() > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + scope.getCount()
+                + " were issued:\n  " + String.join("\n  ", scope.getStatements()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.financetracker.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financetracker.model.User;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Start and end dates are optional on update; leaving them out must not null the period and drop the budget
+// out of rollover
+@SpringBootTest
+@AutoConfigureMockMvc
+class BudgetControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void updateWithoutDatesKeepsStoredPeriod() throws Exception {
+        User user = userRepository.save(new User("budget-dates", "budget-dates@example.com", "secret"));
+        Long categoryId = categoryRepository.findAll().get(0).getId();
+
+        String created = mockMvc.perform(post("/api/budgets").with(user(UserPrincipal.create(user)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Food\",\"budgetLimit\":300,\"categoryId\":" + categoryId + "," +
+                    "\"startDate\":\"2030-03-01T00:00:00\",\"endDate\":\"2030-03-31T23:59:59\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode budget = objectMapper.readTree(created);
+
+        mockMvc.perform(put("/api/budgets/" + budget.get("id").asLong()).with(user(UserPrincipal.create(user)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Food and dining\",\"budgetLimit\":350,\"categoryId\":" + categoryId + "}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("Food and dining"))
+            .andExpect(jsonPath("$.startDate").value(budget.get("startDate").asText()))
+            .andExpect(jsonPath("$.endDate").value(budget.get("endDate").asText()));
+    }
+}
@@ -0,0 +1,138 @@
+package com.financetracker.controller;
+
+import com.financetracker.config.SqlStatementCounter;
+import com.financetracker.model.Account;
+import com.financetracker.model.Category;
+import com.financetracker.model.Expense;
+import com.financetracker.model.Income;
+import com.financetracker.model.IncomeCategory;
+import com.financetracker.model.Role;
+import com.financetracker.model.User;
+import com.financetracker.repository.AccountRepository;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.ExpenseRepository;
+import com.financetracker.repository.IncomeCategoryRepository;
+import com.financetracker.repository.IncomeRepository;
+import com.financetracker.repository.UserRepository;
+import com.financetracker.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.financetracker.config.SqlStatementAssertions.assertStatementCount;
+import static com.financetracker.config.SqlStatementAssertions.count;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pins the statements behind endpoints that used to grow with the data. Each test measures, adds more data
+// and measures again, so an N+1 fails on the count as well as on the second measurement. The per-request
+// filter is off because it would replace the scope opened here.
+@SpringBootTest(properties = "sql.monitor.enabled=false")
+@AutoConfigureMockMvc
+class QueryCountTests {
+
+    private static final LocalDate MONTH_START = LocalDate.of(2030, 3, 1);
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IncomeCategoryRepository incomeCategoryRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Test
+    void calendarData() throws Exception {
+        User user = newUser(Role.USER);
+        addTransactions(user, 5);
+        RequestBuilder request = get("/api/dashboard/calendar-data")
+            .param("year", String.valueOf(MONTH_START.getYear()))
+            .param("month", String.valueOf(MONTH_START.getMonthValue()))
+            .with(user(UserPrincipal.create(user)));
+
+        assertStatementCount(countRequest(request), 4);
+        addTransactions(user, 20);
+        assertStatementCount(countRequest(request), 4);
+    }
+
+    @Test
+    void expenseList() throws Exception {
+        User user = newUser(Role.USER);
+        addTransactions(user, 5);
+        RequestBuilder request = get("/api/expenses").with(user(UserPrincipal.create(user)));
+
+        assertStatementCount(countRequest(request), 2);
+        addTransactions(user, 20);
+        assertStatementCount(countRequest(request), 2);
+    }
+
+    @Test
+    void adminUsers() throws Exception {
+        User admin = newUser(Role.ADMIN);
+        addTransactions(newUser(Role.USER), 5);
+        RequestBuilder request = get("/api/admin/users").with(user(UserPrincipal.create(admin)));
+
+        assertStatementCount(countRequest(request), 4);
+        for (int i = 0; i < 5; i++) {
+            addTransactions(newUser(Role.USER), 3);
+        }
+        assertStatementCount(countRequest(request), 4);
+    }
+
+    private SqlStatementCounter.Scope countRequest(RequestBuilder request) throws Exception {
+        return count(sqlStatementCounter, () -> mockMvc.perform(request).andExpect(status().isOk()));
+    }
+
+    private User newUser(Role role) {
+        int n = USERS.incrementAndGet();
+        User user = new User("query-count-" + n, "query-count-" + n + "@example.com", "secret");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    // Spread over several accounts and categories, with recurring series, so lazy loads would show up
+    private void addTransactions(User user, int perKind) {
+        int n = USERS.incrementAndGet();
+        // A default category, so names come from the in-memory catalog as they do for real requests
+        Category category = categoryRepository.findAll().get(0);
+        IncomeCategory incomeCategory = incomeCategoryRepository.save(new IncomeCategory("Query count " + n, null));
+        Account account = accountRepository.save(new Account("Account " + n, Account.AccountType.CHECKING, user));
+        for (int i = 0; i < perKind; i++) {
+            Expense expense = new Expense(new BigDecimal("4.20"), "Expense " + i, category, user);
+            expense.setExpenseDate(MONTH_START.plusDays(i % 28).atTime(12, 0));
+            expense.setAccount(i % 2 == 0 ? account : null);
+            expense.setRecurringType(i % 5 == 0 ? Expense.RecurringType.WEEKLY : Expense.RecurringType.NONE);
+            expenseRepository.save(expense);
+
+            Income income = new Income(new BigDecimal("10.00"), "Income " + i, incomeCategory, user);
+            income.setIncomeDate(MONTH_START.plusDays(i % 28).atTime(9, 0));
+            income.setRecurringType(i % 5 == 0 ? Income.RecurringType.MONTHLY : Income.RecurringType.NONE);
+            incomeRepository.save(income);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.financetracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SpendingStatsTests {
+
+    private static final double ALPHA = 0.1;
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+
+    @Test
+    void lateSpendingAddsWithTheWeightItsDayCarries() {
+        SpendingStats late = new SpendingStats();
+        late.record(DAY, 10.0, ALPHA);
+        late.record(DAY.plusDays(1), 20.0, ALPHA);
+        late.record(DAY.plusDays(3), 5.0, ALPHA);
+        late.record(DAY.plusDays(1), 30.0, ALPHA);
+
+        SpendingStats inOrder = new SpendingStats();
+        inOrder.record(DAY, 10.0, ALPHA);
+        inOrder.record(DAY.plusDays(1), 50.0, ALPHA);
+        inOrder.record(DAY.plusDays(3), 5.0, ALPHA);
+
+        assertThat(late.getDailyMean()).isCloseTo(inOrder.getDailyMean(), within(1e-9));
+        assertThat(late.getCurrentDay()).isEqualTo(DAY.plusDays(3));
+        assertThat(late.getCurrentDayTotal()).isEqualTo(5.0);
+    }
+
+    @Test
+    void correctionsOnlyTouchTheOpenDay() {
+        SpendingStats stats = new SpendingStats();
+        stats.record(DAY, 40.0, ALPHA);
+        stats.record(DAY.plusDays(1), 15.0, ALPHA);
+        double mean = stats.getDailyMean();
+
+        stats.correct(DAY, -40.0);
+        assertThat(stats.getDailyMean()).isEqualTo(mean);
+
+        stats.correct(DAY.plusDays(1), -25.0);
+        assertThat(stats.getCurrentDayTotal()).isZero();
+        assertThat(stats.getDailyMean()).isEqualTo(mean);
+    }
+}
@@ -0,0 +1,64 @@
+package com.financetracker.repository;
+
+import com.financetracker.dto.ExpenseSearchRow;
+import com.financetracker.model.Category;
+import com.financetracker.model.Expense;
+import com.financetracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Search text is matched literally: %, _ and \ typed by the user must not act as LIKE wildcards or escapes
+@SpringBootTest
+@Transactional
+class ExpenseSpecificationsTests {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("spec-search", "spec-search@example.com", "secret"));
+        Category category = categoryRepository.findAll().get(0);
+        for (String description : List.of("100% refund", "1000 units", "gift_card", "giftXcard", "C:\\temp", "C:temp")) {
+            expenseRepository.save(new Expense(new BigDecimal("10.00"), description, category, user));
+        }
+    }
+
+    @Test
+    void percentIsMatchedLiterally() {
+        assertThat(search("100%")).containsExactly("100% refund");
+    }
+
+    @Test
+    void underscoreIsMatchedLiterally() {
+        assertThat(search("gift_")).containsExactly("gift_card");
+    }
+
+    @Test
+    void backslashIsMatchedLiterally() {
+        assertThat(search("c:\\")).containsExactly("C:\\temp");
+    }
+
+    private List<String> search(String text) {
+        return expenseRepository.searchRows(ExpenseSpecifications.belongsToUser(user.getId())
+                .and(ExpenseSpecifications.textContains(text)), 50).stream()
+            .map(ExpenseSearchRow::getDescription)
+            .toList();
+    }
+}
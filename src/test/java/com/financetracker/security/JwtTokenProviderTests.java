@@ -0,0 +1,63 @@
+package com.financetracker.security;
+
+import com.financetracker.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTests {
+
+    private static final int MAX_SIZE = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "testSecretKeyForHS512AlgorithmThatIsAtLeast64CharactersLong1234");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedCacheMaxSize", MAX_SIZE);
+        ReflectionTestUtils.setField(tokenProvider, "meterRegistry", meterRegistry);
+        tokenProvider.init();
+    }
+
+    @Test
+    void fullCacheEvictsTheOldestTokenAndKeepsCachingNewOnes() {
+        List<String> tokens = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            String token = tokenProvider.generateToken(new UserPrincipal(id, "user" + id, null, null, Role.USER));
+            tokens.add(token);
+            assertThat(tokenProvider.parseClaims(token)).isNotNull();
+        }
+        assertThat(cacheSize()).isEqualTo(MAX_SIZE);
+        assertThat(gets("miss")).isEqualTo(10);
+
+        // The newest tokens are still cached, the oldest was evicted
+        tokens.subList(tokens.size() - MAX_SIZE, tokens.size()).forEach(tokenProvider::parseClaims);
+        assertThat(gets("hit")).isEqualTo(MAX_SIZE);
+        assertThat(tokenProvider.parseClaims(tokens.get(0))).isNotNull();
+        assertThat(gets("miss")).isEqualTo(11);
+        assertThat(cacheSize()).isEqualTo(MAX_SIZE);
+    }
+
+    @Test
+    void forgedTokenIsRejected() {
+        String token = tokenProvider.generateToken(new UserPrincipal(1L, "user1", null, null, Role.USER));
+        assertThat(tokenProvider.parseClaims(token.substring(0, token.length() - 2) + "xx")).isNull();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).functionCounter().count();
+    }
+
+    private double cacheSize() {
+        return meterRegistry.get("cache.size").gauge().value();
+    }
+}
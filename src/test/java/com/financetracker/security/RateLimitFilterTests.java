@@ -0,0 +1,39 @@
+package com.financetracker.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Auth routes are all POSTs, so the rejection must not go through the /error dispatch, which only serves GETs
+@SpringBootTest(properties = {"rate-limit.enabled=true", "rate-limit.routes=/api/auth/**=3/0.01,/api/**=120/20"})
+@AutoConfigureMockMvc
+class RateLimitFilterTests {
+
+    private static final String SIGN_IN = "{\"usernameOrEmail\":\"nobody\",\"password\":\"wrong-password\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void postsPastTheBucketGet429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            int status = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON).content(SIGN_IN))
+                .andReturn().getResponse().getStatus();
+            assertThat(status).isNotEqualTo(429);
+        }
+
+        mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON).content(SIGN_IN))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists("Retry-After"))
+            .andExpect(jsonPath("$.message").exists());
+    }
+}
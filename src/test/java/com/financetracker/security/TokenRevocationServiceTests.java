@@ -0,0 +1,38 @@
+package com.financetracker.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TokenRevocationServiceTests {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void userRevocationRejectsEarlierTokensButNotOnesIssuedInTheSameSecond() {
+        long userId = 9001L;
+        long before = System.currentTimeMillis() / 1000 * 1000 - 1000;
+        tokenRevocationService.revokeAllForUser(userId);
+        // jjwt truncates iat to whole seconds
+        Date issuedNow = new Date(System.currentTimeMillis() / 1000 * 1000);
+
+        assertThat(tokenRevocationService.isRevoked(null, userId, new Date(before))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(null, userId, issuedNow)).isFalse();
+        assertThat(tokenRevocationService.isRevoked(null, 9002L, new Date(before))).isFalse();
+    }
+
+    @Test
+    void revokedTokenSurvivesARebuild() {
+        tokenRevocationService.revokeToken("test-jti", 9003L, new Date(System.currentTimeMillis() + 60_000));
+        tokenRevocationService.rebuild();
+
+        assertThat(tokenRevocationService.isRevoked("test-jti", null, null)).isTrue();
+        assertThat(tokenRevocationService.isRevoked("other-jti", null, null)).isFalse();
+    }
+}
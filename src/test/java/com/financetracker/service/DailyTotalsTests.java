@@ -0,0 +1,100 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.Expense;
+import com.financetracker.model.Income;
+import com.financetracker.model.IncomeCategory;
+import com.financetracker.model.User;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.ExpenseRepository;
+import com.financetracker.repository.IncomeCategoryRepository;
+import com.financetracker.repository.IncomeRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The month-at-once totals must agree with the per-day ones they replace, projections included
+@SpringBootTest
+@Transactional
+class DailyTotalsTests {
+
+    private static final LocalDate MONTH_START = LocalDate.of(2030, 3, 1);
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private IncomeService incomeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IncomeCategoryRepository incomeCategoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("daily-totals", "daily-totals@example.com", "secret"));
+        userId = user.getId();
+        Category category = categoryRepository.save(new Category("Daily totals test", null));
+        IncomeCategory incomeCategory = incomeCategoryRepository.save(new IncomeCategory("Daily totals test", null));
+
+        expense(user, category, "12.50", MONTH_START.plusDays(4), Expense.RecurringType.NONE);
+        expense(user, category, "7.25", MONTH_START.plusDays(4), Expense.RecurringType.NONE);
+        // Weekly from February, so March is all projections; one lands on the 5th next to the stored rows
+        expense(user, category, "3.10", MONTH_START.minusDays(24), Expense.RecurringType.WEEKLY);
+
+        Income salary = new Income(new BigDecimal("2000.00"), "Salary", incomeCategory, user);
+        salary.setIncomeDate(MONTH_START.minusMonths(2).plusDays(14).atTime(9, 0));
+        salary.setRecurringType(Income.RecurringType.MONTHLY);
+        incomeRepository.save(salary);
+        Income bonus = new Income(new BigDecimal("150.00"), "Bonus", incomeCategory, user);
+        bonus.setIncomeDate(MONTH_START.plusDays(14).atTime(17, 30));
+        incomeRepository.save(bonus);
+    }
+
+    @Test
+    void monthTotalsMatchDailyTotals() {
+        LocalDate end = MONTH_START.withDayOfMonth(MONTH_START.lengthOfMonth());
+        Map<LocalDate, BigDecimal> expenses = expenseService.getDailyExpenseTotals(userId, MONTH_START, end);
+        Map<LocalDate, BigDecimal> incomes = incomeService.getDailyIncomeTotals(userId, MONTH_START, end);
+
+        for (LocalDate date = MONTH_START; !date.isAfter(end); date = date.plusDays(1)) {
+            assertThat(expenses.getOrDefault(date, BigDecimal.ZERO))
+                .as("expenses on %s", date)
+                .isEqualByComparingTo(expenseService.getDailyExpensesByUserId(userId, date));
+            assertThat(incomes.getOrDefault(date, BigDecimal.ZERO))
+                .as("income on %s", date)
+                .isEqualByComparingTo(incomeService.getDailyIncome(userId, date));
+        }
+        assertThat(expenses.get(MONTH_START.plusDays(4))).isEqualByComparingTo("22.85");
+        assertThat(incomes.get(MONTH_START.plusDays(14))).isEqualByComparingTo("2150.00");
+    }
+
+    private void expense(User user, Category category, String amount, LocalDate date, Expense.RecurringType type) {
+        Expense expense = new Expense(new BigDecimal(amount), "Daily totals " + amount, category, user);
+        expense.setExpenseDate(date.atTime(12, 0));
+        expense.setRecurringType(type);
+        expenseRepository.save(expense);
+    }
+}
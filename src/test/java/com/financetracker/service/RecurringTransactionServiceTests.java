@@ -0,0 +1,116 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.BudgetAlert;
+import com.financetracker.model.Budget;
+import com.financetracker.model.Category;
+import com.financetracker.model.Expense;
+import com.financetracker.model.User;
+import com.financetracker.repository.BudgetRepository;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.ExpenseRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Posting commits on worker threads, so these tests commit their data instead of rolling back
+@SpringBootTest
+@RecordApplicationEvents
+class RecurringTransactionServiceTests {
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private SpendingForecastService spendingForecastService;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void turningRecurrenceOffAndOnKeepsPostedOccurrences() {
+        User user = userRepository.save(new User("recurrence-toggle", "recurrence-toggle@example.com", "secret"));
+        Category category = categoryRepository.save(new Category("Recurrence toggle test", null));
+        LocalDateTime now = LocalDateTime.of(2030, 6, 20, 12, 0);
+
+        Expense rent = new Expense(new BigDecimal("900.00"), "Rent", category, user);
+        rent.setExpenseDate(now.minusMonths(3));
+        rent.setRecurringType(Expense.RecurringType.MONTHLY);
+        rent = expenseRepository.save(rent);
+
+        RecurringTransactionService.PostingResult first = recurringTransactionService.postDue(now);
+        assertThat(first.failedChunks()).isZero();
+        assertThat(occurrencesOf(rent)).isEqualTo(3);
+
+        rent = expenseRepository.findById(rent.getId()).orElseThrow();
+        rent.setRecurringType(Expense.RecurringType.NONE);
+        rent = expenseRepository.save(rent);
+        rent.setRecurringType(Expense.RecurringType.MONTHLY);
+        rent = expenseRepository.save(rent);
+
+        assertThat(rent.getRecurrencePostedThrough()).isEqualTo(now.minusMonths(3).plusMonths(3));
+        RecurringTransactionService.PostingResult second = recurringTransactionService.postDue(now);
+        assertThat(second.failedChunks()).isZero();
+        assertThat(occurrencesOf(rent)).isEqualTo(3);
+    }
+
+    @Test
+    void postedOccurrencesCountOnlyTowardsTheCurrentBudgetPeriod() {
+        User user = userRepository.save(new User("recurrence-budget", "recurrence-budget@example.com", "secret"));
+        Category category = categoryRepository.save(new Category("Recurrence budget test", null));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        Budget budget = new Budget("Rent", new BigDecimal("500.00"), category, user);
+        budget.setStartDate(now.toLocalDate().withDayOfMonth(1).atStartOfDay());
+        budget.setEndDate(now.toLocalDate().withDayOfMonth(now.toLocalDate().lengthOfMonth()).atTime(23, 59, 59));
+        budget = budgetRepository.save(budget);
+
+        Expense rent = new Expense(new BigDecimal("900.00"), "Rent", category, user);
+        rent.setExpenseDate(now.minusMonths(3));
+        rent.setRecurringType(Expense.RecurringType.MONTHLY);
+        rent = expenseRepository.save(rent);
+
+        RecurringTransactionService.PostingResult result = recurringTransactionService.postDue(now);
+        assertThat(result.failedChunks()).isZero();
+        assertThat(occurrencesOf(rent)).isEqualTo(3);
+
+        // Only this month's occurrence lands in the budget; the two catch-up ones belong to earlier periods
+        Budget updated = budgetRepository.findById(budget.getId()).orElseThrow();
+        assertThat(updated.getSpentAmount()).isEqualByComparingTo("900.00");
+        assertThat(updated.getStatus()).isEqualTo(Budget.Status.EXCEEDED);
+
+        Long budgetId = budget.getId();
+        assertThat(applicationEvents.stream(BudgetAlert.class)
+            .filter(alert -> budgetId.equals(alert.getBudgetId())))
+            .singleElement()
+            .extracting(BudgetAlert::getLevel)
+            .isEqualTo(BudgetAlert.Level.EXCEEDED);
+        assertThat(spendingForecastService.getStats(user.getId(), category.getId())).isNotNull();
+    }
+
+    private long occurrencesOf(Expense series) {
+        return expenseRepository.findAll().stream()
+            .filter(expense -> series.getId().equals(expense.getRecurringSourceId()))
+            .count();
+    }
+}
@@ -0,0 +1,98 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.BudgetResponse;
+import com.financetracker.model.Budget;
+import com.financetracker.model.Category;
+import com.financetracker.model.SpendingStats;
+import com.financetracker.model.User;
+import com.financetracker.repository.CategoryRepository;
+import com.financetracker.repository.SpendingStatsRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Writers run in their own committed transactions, as concurrent requests would
+@SpringBootTest
+class SpendingForecastServiceTests {
+
+    @Autowired
+    private SpendingForecastService spendingForecastService;
+
+    @Autowired
+    private SpendingStatsRepository spendingStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentFirstExpensesShareOneRow() throws Exception {
+        User user = userRepository.save(new User("forecast-race", "forecast-race@example.com", "secret"));
+        Category category = categoryRepository.save(new Category("Forecast race test", null));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status ->
+                        spendingForecastService.recordSpending(user, category, LocalDate.now(), new BigDecimal("2.50")));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        SpendingStats stats = spendingStatsRepository.findByUserIdAndCategoryId(user.getId(), category.getId()).orElseThrow();
+        assertThat(stats.getCurrentDayTotal()).isEqualTo(writers * 2.5);
+        assertThat(stats.getVersion()).isEqualTo((long) writers);
+    }
+
+    @Test
+    void forecastDecaysOverIdleDays() {
+        SpendingStats stats = new SpendingStats();
+        LocalDate lastActive = LocalDate.now().minusDays(30);
+        for (int i = 0; i < 10; i++) {
+            stats.record(lastActive.minusDays(10 - i), 20.0, 0.1);
+        }
+        double storedMean = stats.rolledTo(lastActive, 0.1).getDailyMean();
+
+        Budget budget = new Budget("Idle", new BigDecimal("500.00"), null, null);
+        budget.setSpentAmount(BigDecimal.ZERO);
+        budget.setEndDate(LocalDate.now().plusDays(10).atStartOfDay());
+        BudgetResponse response = new BudgetResponse();
+        spendingForecastService.applyForecast(response, budget, stats);
+
+        assertThat(response.getDailyBurnRate()).isLessThan(storedMean * 0.1);
+        // The stored statistics are not rolled by a read
+        assertThat(stats.getCurrentDay()).isEqualTo(lastActive.minusDays(1));
+    }
+}
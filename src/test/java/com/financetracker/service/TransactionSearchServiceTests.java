@@ -0,0 +1,64 @@
+package com.financetracker.service;
+
+import com.financetracker.dto.IncomeCategoryDTO;
+import com.financetracker.dto.TransactionSearchHit;
+import com.financetracker.model.Income;
+import com.financetracker.model.IncomeCategory;
+import com.financetracker.model.User;
+import com.financetracker.repository.IncomeCategoryRepository;
+import com.financetracker.repository.IncomeRepository;
+import com.financetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The rebuild walks users one at a time, and hits name the category as it is now rather than when indexed
+@SpringBootTest
+@Transactional
+class TransactionSearchServiceTests {
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private IncomeCategoryService incomeCategoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IncomeCategoryRepository incomeCategoryRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Test
+    void hitsFollowCategoryRenames() {
+        User user = userRepository.save(new User("search-rename", "search-rename@example.com", "secret"));
+        IncomeCategoryDTO created = new IncomeCategoryDTO();
+        created.setName("Side work");
+        IncomeCategory category = incomeCategoryRepository.getReferenceById(incomeCategoryService.createCategory(created).getId());
+        incomeRepository.save(new Income(new BigDecimal("80.00"), "Woodworking commission", category, user));
+
+        assertThat(transactionSearchService.rebuild()).isGreaterThanOrEqualTo(1);
+        assertThat(categoryNames(user.getId())).containsExactly("Side work");
+
+        IncomeCategoryDTO renamed = new IncomeCategoryDTO();
+        renamed.setName("Commissions");
+        incomeCategoryService.updateCategory(category.getId(), renamed);
+
+        assertThat(categoryNames(user.getId())).containsExactly("Commissions");
+    }
+
+    private List<String> categoryNames(Long userId) {
+        return transactionSearchService.search(userId, "woodworking", null, 0, 10).getItems().stream()
+            .map(TransactionSearchHit::getCategoryName)
+            .toList();
+    }
+}
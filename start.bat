@@ -6,7 +6,7 @@ REM Check if Java is installed
 java -version >nul 2>&1
 if %errorlevel% neq 0 (
     echo ERROR: Java is not installed or not in PATH
-    echo Please install Java 17 or higher
+    echo Please install Java 21 or higher
     pause
     exit /b 1
 )